@@ -1,14 +1,26 @@
 package br.com.gunthercloud.bootcamp.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import br.com.gunthercloud.bootcamp.services.exceptions.DomainException;
+
 @Configuration
 public class AppConfig {
 
+	@Value("${app.security.bcrypt-strength:10}")
+	private int bcryptStrength;
+
+	// Exceções de domínio sem pilha por padrão; ligar só para depurar
+	@Value("${app.exceptions.stack-traces:false}")
+	void setExceptionStackTraces(boolean enabled) {
+		DomainException.setStackTraces(enabled);
+	}
+
 	@Bean
 	BCryptPasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+		return new BCryptPasswordEncoder(bcryptStrength);
 	}
 }
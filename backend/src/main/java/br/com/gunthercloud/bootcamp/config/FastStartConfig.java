@@ -0,0 +1,19 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import br.com.gunthercloud.bootcamp.events.ChangeEventListener;
+
+// Com spring.main.lazy-initialization=true (profile fast-start) estes continuam ansiosos:
+// o SlowLog publica a instância estática lida pelo listener do Hibernate, e quem
+// ouve alterações (caches, stream SSE) precisa receber os eventos desde a subida, não desde o primeiro uso
+@Configuration
+public class FastStartConfig {
+
+	@Bean
+	static LazyInitializationExcludeFilter eagerBeans() {
+		return LazyInitializationExcludeFilter.forBeanTypes(SlowLog.class, ChangeEventListener.class);
+	}
+}
@@ -0,0 +1,21 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// No H2 em memória o banco sobrevive entre contextos da mesma JVM (ex.: testes);
+// limpar antes de migrar reproduz o create-drop que tínhamos com o auto-DDL
+@Configuration
+@Profile("test")
+public class InMemorySchemaConfig {
+
+	@Bean
+	FlywayMigrationStrategy cleanMigrateStrategy() {
+		return flyway -> {
+			flyway.clean();
+			flyway.migrate();
+		};
+	}
+}
@@ -0,0 +1,141 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import jakarta.annotation.PostConstruct;
+
+// Descarte adaptativo (estilo CoDel): a cada requisição lê quantas threads esperam conexão nos
+// pools do Hikari (primário e réplicas) e guarda o MÍNIMO da janela de interval-ms. Mínimo acima
+// de pending-target = fila parada no pool. Lido no pool, e não na sessão do Hibernate: com
+// roteamento o LazyConnectionDataSourceProxy esconde a espera real.
+// Cada janela sobrecarregada aumenta a probabilidade de descarte em drop-step (até max-drop) e
+// cada janela normal diminui: parte das requisições sempre passa, inclusive leituras servidas
+// de cache que nem tocam o banco, e o sinal de recuperação continua chegando.
+// max-in-flight limita as requisições simultâneas, antes de o Tomcat começar a enfileirar.
+@Component
+public class LoadShedder {
+
+	@Value("${app.ratelimit.shed.pending-target:0}")
+	private int pendingTarget;
+
+	@Value("${app.ratelimit.shed.interval-ms:500}")
+	private long intervalMillis;
+
+	@Value("${app.ratelimit.shed.drop-step:0.25}")
+	private double dropStep;
+
+	@Value("${app.ratelimit.shed.max-drop:0.9}")
+	private double maxDrop;
+
+	@Value("${app.ratelimit.shed.max-in-flight:0}")
+	private int maxInFlight;
+
+	// ObjectProvider: nos testes de fatia não há DataSource
+	@Autowired
+	private ObjectProvider<HikariDataSource> dataSources;
+
+	@Autowired
+	private ObjectProvider<ReplicaDataSource> replicaDataSource;
+
+	private List<HikariDataSource> pools = List.of();
+	private DoubleSupplier random = () -> ThreadLocalRandom.current().nextDouble();
+	private long intervalNanos;
+	private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+	private final AtomicInteger windowMin = new AtomicInteger(Integer.MAX_VALUE);
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private volatile double dropProbability;
+
+	@PostConstruct
+	public void init() {
+		intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+		List<HikariDataSource> list = new ArrayList<>();
+		if(dataSources != null)
+			dataSources.orderedStream().forEach(list::add);
+		if(replicaDataSource != null)
+			replicaDataSource.ifAvailable(x -> x.getReplicas().stream()
+					.filter(HikariDataSource.class::isInstance).map(HikariDataSource.class::cast).forEach(list::add));
+		pools = List.copyOf(list);
+	}
+
+	void samplePending(int pending, long now) {
+		roll(now);
+		windowMin.accumulateAndGet(pending, Math::min);
+	}
+
+	// false = descartar; true obriga a chamar exit() no fim da requisição
+	public boolean tryEnter(long now) {
+		if(!pools.isEmpty())
+			samplePending(pending(), now);
+		else
+			roll(now);
+		double p = dropProbability;
+		if(p > 0 && random.getAsDouble() < p)
+			return false;
+		if(inFlight.incrementAndGet() > maxInFlight && maxInFlight > 0) {
+			inFlight.decrementAndGet();
+			return false;
+		}
+		return true;
+	}
+
+	public void exit() {
+		inFlight.decrementAndGet();
+	}
+
+	public boolean isOverloaded() {
+		return dropProbability > 0;
+	}
+
+	public double getDropProbability() {
+		return dropProbability;
+	}
+
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	public long getRetryAfterSeconds() {
+		return Math.max(1, (intervalMillis + 999) / 1000);
+	}
+
+	// Pool que ainda não abriu (Hikari inicia na primeira conexão) não tem fila
+	private int pending() {
+		int pending = 0;
+		for(HikariDataSource pool : pools) {
+			HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+			if(bean != null)
+				pending += bean.getThreadsAwaitingConnection();
+		}
+		return pending;
+	}
+
+	// Só uma thread fecha a janela (CAS); amostras que chegam no meio contam para a janela velha
+	private void roll(long now) {
+		long start = windowStart.get();
+		long elapsed = now - start;
+		if(elapsed < intervalNanos || !windowStart.compareAndSet(start, now))
+			return;
+		int min = windowMin.getAndSet(Integer.MAX_VALUE);
+		// Janela antiga (aplicação ociosa) não diz nada sobre a carga atual
+		if(elapsed >= 2 * intervalNanos)
+			dropProbability = 0;
+		else if(min != Integer.MAX_VALUE && min > pendingTarget)
+			dropProbability = Math.min(maxDrop, dropProbability + dropStep);
+		else
+			dropProbability = Math.max(0, dropProbability - dropStep);
+	}
+}
@@ -0,0 +1,26 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("br.com.gunthercloud.PasswordHash")
+@Label("Password Hash")
+@Category({ "Bootcamp", "Security" })
+@Description("Hash BCrypt de uma ou mais senhas (PasswordHasher)")
+@Enabled(false)
+@StackTrace(false)
+public class PasswordHashEvent extends jdk.jfr.Event {
+
+	@Label("Passwords")
+	public int count;
+
+	@Label("Bulk")
+	public boolean bulk;
+
+	@Label("Queued Tasks")
+	public int queued;
+}
@@ -0,0 +1,178 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import br.com.gunthercloud.bootcamp.services.exceptions.ServiceUnavailableException;
+import br.com.gunthercloud.bootcamp.services.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Limite por cliente (API key conhecida ou IP) com orçamentos separados para leituras, escritas
+// e /users (BCrypt), seguido do descarte adaptativo do LoadShedder. Roda antes de tudo para que
+// a requisição recusada não chegue a pegar conexão do pool. As respostas 429/503 saem pelo
+// ResourceExceptionHandler, no mesmo formato das demais.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	public static final String API_KEY_HEADER = "X-API-Key";
+
+	enum Budget {
+		READ, WRITE, USERS
+	}
+
+	private record Limit(double perSecond, int burst) {
+	}
+
+	// ObjectProvider: nos testes de fatia (@WebMvcTest) não há LoadShedder nem MeterRegistry
+	@Autowired
+	private ObjectProvider<LoadShedder> loadShedder;
+
+	@Autowired
+	private ObjectProvider<MeterRegistry> registry;
+
+	@Autowired
+	@Qualifier("handlerExceptionResolver")
+	private HandlerExceptionResolver exceptionResolver;
+
+	@Value("${app.ratelimit.enabled:true}")
+	private boolean enabled;
+
+	// Só chaves cadastradas ganham balde próprio; qualquer outra cai no IP (senão bastaria trocar de chave)
+	@Value("${app.ratelimit.api-keys:}")
+	private Set<String> apiKeys;
+
+	@Value("${app.ratelimit.max-clients:100000}")
+	private int maxClients;
+
+	@Value("${app.ratelimit.read.per-second:50}")
+	private double readPerSecond;
+
+	@Value("${app.ratelimit.read.burst:100}")
+	private int readBurst;
+
+	@Value("${app.ratelimit.write.per-second:10}")
+	private double writePerSecond;
+
+	@Value("${app.ratelimit.write.burst:20}")
+	private int writeBurst;
+
+	@Value("${app.ratelimit.users.per-second:2}")
+	private double usersPerSecond;
+
+	@Value("${app.ratelimit.users.burst:5}")
+	private int usersBurst;
+
+	private final Map<Budget, Limit> limits = new EnumMap<>(Budget.class);
+	private final Map<Budget, ConcurrentHashMap<String, TokenBucket>> buckets = new EnumMap<>(Budget.class);
+	private final AtomicBoolean sweeping = new AtomicBoolean();
+
+	@PostConstruct
+	public void init() {
+		limits.put(Budget.READ, new Limit(readPerSecond, readBurst));
+		limits.put(Budget.WRITE, new Limit(writePerSecond, writeBurst));
+		limits.put(Budget.USERS, new Limit(usersPerSecond, usersBurst));
+		for(Budget budget : Budget.values())
+			buckets.put(budget, new ConcurrentHashMap<>());
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		return !enabled || path.startsWith("/actuator") || path.startsWith("/h2-console");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		long now = System.nanoTime();
+		Budget budget = budgetOf(request);
+		long wait = bucket(budget, clientOf(request), now).tryAcquire(now);
+		if(wait > 0) {
+			reject(request, response, budget, new TooManyRequestsException(
+					"Rate limit exceeded for " + budget.name().toLowerCase() + " requests",
+					Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999L))));
+			return;
+		}
+		LoadShedder shedder = loadShedder.getIfAvailable();
+		if(shedder != null && !shedder.tryEnter(now)) {
+			reject(request, response, budget, new ServiceUnavailableException("Server is overloaded", shedder.getRetryAfterSeconds()));
+			return;
+		}
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			if(shedder != null)
+				shedder.exit();
+		}
+	}
+
+	static Budget budgetOf(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		if(path.equals("/users") || path.startsWith("/users/"))
+			return Budget.USERS;
+		return switch(request.getMethod()) {
+			case "GET", "HEAD", "OPTIONS" -> Budget.READ;
+			default -> Budget.WRITE;
+		};
+	}
+
+	// Atrás de proxy, server.forward-headers-strategy faz o getRemoteAddr devolver o IP do cliente
+	private String clientOf(HttpServletRequest request) {
+		String apiKey = request.getHeader(API_KEY_HEADER);
+		if(apiKey != null && apiKeys.contains(apiKey))
+			return "key:" + apiKey;
+		return "ip:" + request.getRemoteAddr();
+	}
+
+	private TokenBucket bucket(Budget budget, String client, long now) {
+		ConcurrentHashMap<String, TokenBucket> map = buckets.get(budget);
+		TokenBucket bucket = map.get(client);
+		if(bucket != null)
+			return bucket;
+		if(map.size() >= maxClients)
+			sweep(map, now);
+		Limit limit = limits.get(budget);
+		return map.computeIfAbsent(client, x -> new TokenBucket(limit.perSecond(), limit.burst()));
+	}
+
+	// Balde cheio equivale a balde inexistente: pode sair do mapa
+	private void sweep(ConcurrentHashMap<String, TokenBucket> map, long now) {
+		if(!sweeping.compareAndSet(false, true))
+			return;
+		try {
+			map.values().removeIf(x -> x.isFull(now));
+		}
+		finally {
+			sweeping.set(false);
+		}
+	}
+
+	private void reject(HttpServletRequest request, HttpServletResponse response, Budget budget, RuntimeException e) {
+		registry.ifAvailable(r -> r.counter("app.ratelimit.rejected",
+				"reason", e instanceof TooManyRequestsException ? "rate_limit" : "overload",
+				"budget", budget.name().toLowerCase()).increment());
+		exceptionResolver.resolveException(request, response, null, e);
+	}
+}
@@ -0,0 +1,107 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Leitura em réplicas: transações @Transactional(readOnly = true) marcam a conexão como somente
+// leitura, e o LazyConnectionDataSourceProxy só busca a conexão real no primeiro comando,
+// quando o flag já está definido; aí usa o ReplicaDataSource em vez do primário.
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+	@Value("${app.datasource.replicas.urls}")
+	private List<String> replicaUrls;
+
+	@Value("${app.datasource.replicas.username:${spring.datasource.username:}}")
+	private String replicaUsername;
+
+	@Value("${app.datasource.replicas.password:${spring.datasource.password:}}")
+	private String replicaPassword;
+
+	@Value("${app.datasource.replicas.maximum-pool-size:10}")
+	private int replicaPoolSize;
+
+	// Só para réplicas locais (H2) que não recebem replicação: aplica as migrations nelas também
+	@Value("${app.datasource.replicas.migrate:false}")
+	private boolean migrateReplicas;
+
+	@Value("${spring.flyway.locations:classpath:db/migration}")
+	private List<String> flywayLocations;
+
+	@Value("${app.datasource.routing.strategy:ROUND_ROBIN}")
+	private ReplicaDataSource.Strategy strategy;
+
+	@Value("${app.datasource.routing.read-your-writes-ms:2000}")
+	private long readYourWritesMillis;
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+
+	@Bean
+	ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties) {
+		List<HikariDataSource> replicas = new ArrayList<>();
+		for(int i = 0; i < replicaUrls.size(); i++) {
+			HikariDataSource replica = new HikariDataSource();
+			replica.setPoolName("replica-" + i);
+			replica.setJdbcUrl(replicaUrls.get(i).trim());
+			replica.setDriverClassName(properties.determineDriverClassName());
+			replica.setUsername(replicaUsername);
+			replica.setPassword(replicaPassword);
+			replica.setMaximumPoolSize(replicaPoolSize);
+			if(migrateReplicas)
+				migrate(replica);
+			else
+				replica.setReadOnly(true);
+			replicas.add(replica);
+		}
+		return new ReplicaDataSource(primaryDataSource, replicas, strategy);
+	}
+
+	private void migrate(HikariDataSource replica) {
+		String vendor = DatabaseDriver.fromJdbcUrl(replica.getJdbcUrl()).getId();
+		String[] locations = flywayLocations.stream().map(x -> x.trim().replace("{vendor}", vendor)).toArray(String[]::new);
+		Flyway flyway = Flyway.configure().dataSource(replica).locations(locations).cleanDisabled(false).load();
+		flyway.clean();
+		flyway.migrate();
+	}
+
+	@Bean
+	@Primary
+	DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+		LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+		proxy.setReadOnlyDataSource(replicaDataSource);
+		return proxy;
+	}
+
+	// Logo no início da cadeia, antes de qualquer filtro que possa abrir transação
+	@Bean
+	FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+		FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+				new ReadYourWritesFilter(readYourWritesMillis));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+		return registration;
+	}
+}
@@ -0,0 +1,69 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.io.IOException;
+
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Depois de uma escrita o cliente recebe um cookie com o fim da janela de read-your-writes;
+// enquanto ela durar as leituras dele vão para o primário, cobrindo o atraso da replicação.
+// O estado fica no cliente, então funciona com várias instâncias da aplicação.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	public static final String COOKIE_NAME = "rw_primary_until";
+
+	private final long windowMillis;
+
+	public ReadYourWritesFilter(long windowMillis) {
+		this.windowMillis = windowMillis;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		long now = System.currentTimeMillis();
+		boolean write = !isSafe(request.getMethod());
+		if(write) {
+			// Antes do chain: depois o corpo já pode ter sido enviado e o cabeçalho não entra mais
+			long seconds = Math.max(1, (windowMillis + 999) / 1000);
+			response.addHeader("Set-Cookie", ResponseCookie.from(COOKIE_NAME, Long.toString(now + windowMillis))
+					.path("/").maxAge(seconds).httpOnly(true).sameSite("Lax").build().toString());
+		}
+		ReplicaDataSource.forcePrimary(write || insideWindow(request, now));
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			ReplicaDataSource.forcePrimary(false);
+		}
+	}
+
+	private boolean insideWindow(HttpServletRequest request, long now) {
+		Cookie[] cookies = request.getCookies();
+		if(cookies == null)
+			return false;
+		for(Cookie c : cookies) {
+			if(COOKIE_NAME.equals(c.getName())) {
+				try {
+					long until = Long.parseLong(c.getValue());
+					// Valor vem do cliente: não aceita janela maior que a configurada
+					return until > now && until - now <= windowMillis;
+				}
+				catch(NumberFormatException e) {
+					return false;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean isSafe(String method) {
+		return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+	}
+}
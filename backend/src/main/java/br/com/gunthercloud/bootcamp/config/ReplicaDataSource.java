@@ -0,0 +1,122 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+// Destino das conexões somente leitura (ver ReadReplicaConfig): escolhe uma réplica
+// por round-robin ou menos conexões ativas. Durante a janela de read-your-writes do
+// cliente (ReadYourWritesFilter) a leitura volta para o primário.
+public class ReplicaDataSource extends AbstractDataSource {
+
+	public enum Strategy {
+		ROUND_ROBIN, LEAST_CONNECTIONS
+	}
+
+	private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+	private final DataSource primary;
+	private final List<? extends DataSource> replicas;
+	private final Strategy strategy;
+	private final ToIntFunction<DataSource> activeConnections;
+	private final AtomicInteger next = new AtomicInteger();
+
+	public ReplicaDataSource(DataSource primary, List<? extends DataSource> replicas, Strategy strategy) {
+		this(primary, replicas, strategy, ReplicaDataSource::hikariActiveConnections);
+	}
+
+	ReplicaDataSource(DataSource primary, List<? extends DataSource> replicas, Strategy strategy,
+			ToIntFunction<DataSource> activeConnections) {
+		if(replicas.isEmpty())
+			throw new IllegalArgumentException("At least one replica is required");
+		this.primary = primary;
+		this.replicas = List.copyOf(replicas);
+		this.strategy = strategy;
+		this.activeConnections = activeConnections;
+	}
+
+	public List<? extends DataSource> getReplicas() {
+		return replicas;
+	}
+
+	public static void forcePrimary(boolean force) {
+		if(force)
+			FORCE_PRIMARY.set(Boolean.TRUE);
+		else
+			FORCE_PRIMARY.remove();
+	}
+
+	public static boolean isPrimaryForced() {
+		return FORCE_PRIMARY.get() != null;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return determineTarget().getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return determineTarget().getConnection(username, password);
+	}
+
+	DataSource determineTarget() {
+		if(isPrimaryForced())
+			return primary;
+		if(replicas.size() == 1)
+			return replicas.get(0);
+		return strategy == Strategy.LEAST_CONNECTIONS ? leastConnections() : roundRobin();
+	}
+
+	private DataSource roundRobin() {
+		return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+	}
+
+	// Empate (ex.: tudo ocioso) cai no round-robin para não concentrar em uma réplica
+	private DataSource leastConnections() {
+		int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+		DataSource best = null;
+		int bestActive = Integer.MAX_VALUE;
+		for(int i = 0; i < replicas.size(); i++) {
+			DataSource candidate = replicas.get((start + i) % replicas.size());
+			int active = activeConnections.applyAsInt(candidate);
+			if(active < bestActive) {
+				best = candidate;
+				bestActive = active;
+			}
+		}
+		return best;
+	}
+
+	// Fecha os pools das réplicas; o primário tem ciclo de vida próprio
+	public void close() {
+		for(DataSource replica : replicas) {
+			if(replica instanceof AutoCloseable closeable) {
+				try {
+					closeable.close();
+				}
+				catch(Exception e) {
+					logger.warn("Failed to close replica pool", e);
+				}
+			}
+		}
+	}
+
+	private static int hikariActiveConnections(DataSource dataSource) {
+		if(dataSource instanceof HikariDataSource hikari) {
+			// O pool só existe depois da primeira conexão
+			HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+			return pool == null ? 0 : pool.getActiveConnections();
+		}
+		return 0;
+	}
+}
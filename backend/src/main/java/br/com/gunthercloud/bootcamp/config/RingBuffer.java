@@ -0,0 +1,39 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Buffer circular de tamanho fixo e sem locks: cada escrita pega uma posição com
+// getAndIncrement e sobrescreve a entrada mais antiga.
+public class RingBuffer<T> {
+
+	private final AtomicReferenceArray<T> entries;
+	private final AtomicLong sequence = new AtomicLong();
+
+	public RingBuffer(int capacity) {
+		if(capacity <= 0)
+			throw new IllegalArgumentException("capacity must be positive");
+		this.entries = new AtomicReferenceArray<>(capacity);
+	}
+
+	public void add(T entry) {
+		int index = (int) (sequence.getAndIncrement() % entries.length());
+		entries.set(index, entry);
+	}
+
+	public List<T> snapshot() {
+		List<T> list = new ArrayList<>(entries.length());
+		for(int i = 0; i < entries.length(); i++) {
+			T entry = entries.get(i);
+			if(entry != null)
+				list.add(entry);
+		}
+		return list;
+	}
+
+	public int capacity() {
+		return entries.length();
+	}
+}
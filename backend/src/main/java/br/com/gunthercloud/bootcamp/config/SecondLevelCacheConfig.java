@@ -0,0 +1,40 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.io.IOException;
+import java.net.URI;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.util.ObjectUtils;
+
+// CacheManager do segundo nível criado pelo Spring e entregue ao Hibernate: o arquivo de regiões
+// é resolvido como Resource (classpath:, file:, dentro do jar) e pode mudar por profile
+@Configuration
+public class SecondLevelCacheConfig {
+
+	@Value("${app.cache.config:classpath:cache/ehcache.xml}")
+	private Resource config;
+
+	// URI próprio por contexto: o provider reaproveita o CacheManager por URI, e dois contextos
+	// na mesma JVM (testes) não podem dividir cache nem fechar o do outro
+	@Bean(destroyMethod = "close")
+	CacheManager hibernateCacheManager() throws IOException {
+		EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+		XmlConfiguration xml = new XmlConfiguration(config.getURL(), getClass().getClassLoader());
+		return provider.getCacheManager(URI.create("urn:bootcamp:l2:" + ObjectUtils.getIdentityHexString(this)), xml);
+	}
+
+	@Bean
+	HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+	}
+}
@@ -1,7 +1,11 @@
 package br.com.gunthercloud.bootcamp.config;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 
@@ -12,10 +16,13 @@ public class SecurityConfig {
     SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .authorizeHttpRequests(auth -> auth
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, InfoEndpoint.class)).permitAll() // Probes do orquestrador
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ACTUATOR") // metrics, prometheus, slowlog (SQL e rotas)
                 .requestMatchers("/h2-console/**").permitAll() // Libera o H2 Console
                 .requestMatchers("/**").permitAll() // Libera todos os endpoints da API
                 .anyRequest().authenticated() // Mantém autenticação para outras rotas
             )
+            .httpBasic(Customizer.withDefaults()) // Usuário do actuator (spring.security.user.*)
             .csrf(csrf -> csrf.disable()) // Desativa CSRF para facilitar o uso da API
             .headers(headers -> headers.disable()); // Permite iframes (H2 Console)
 
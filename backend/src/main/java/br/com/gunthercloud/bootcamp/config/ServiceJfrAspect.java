@@ -0,0 +1,62 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.util.Collection;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+// Emite ServiceOperationEvent em volta dos métodos de @Service. Fica por fora do
+// @Transactional para que o flush/commit entre no tempo de banco.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceJfrAspect {
+
+	@Around("within(@org.springframework.stereotype.Service *)")
+	public Object record(ProceedingJoinPoint pjp) throws Throwable {
+		ServiceOperationEvent event = new ServiceOperationEvent();
+		if(!event.isEnabled())
+			return pjp.proceed();
+
+		event.begin();
+		SqlStatementCounter.Context sql = SqlStatementCounter.start();
+		Object result = null;
+		try {
+			result = pjp.proceed();
+			return result;
+		}
+		catch(Throwable e) {
+			event.exception = e.getClass().getSimpleName();
+			throw e;
+		}
+		finally {
+			SqlStatementCounter.stop(sql);
+			event.end();
+			if(event.shouldCommit()) {
+				event.service = pjp.getSignature().getDeclaringType().getSimpleName();
+				event.operation = pjp.getSignature().getName();
+				for(Object arg : pjp.getArgs()) {
+					if(arg instanceof Long id)
+						event.entityId = id;
+					else if(arg instanceof Pageable p && p.isPaged())
+						event.pageSize = p.getPageSize();
+				}
+				if(result instanceof Page<?> p)
+					event.rowCount = p.getNumberOfElements();
+				else if(result instanceof Collection<?> c)
+					event.rowCount = c.size();
+				else if(result != null)
+					event.rowCount = 1;
+				event.sqlStatements = sql.getCount();
+				event.dbTime = sql.getTimeNanos();
+				event.commit();
+			}
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Timer com histograma para todo método público dos @Service.
+// Os repositórios já são medidos pelo Spring Data (spring.data.repository.invocations).
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+	@Autowired
+	private MeterRegistry registry;
+
+	// Um Timer por método/resultado; evita montar o Meter.Id (e o lookup no registry) a cada chamada
+	private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+	private record TimerKey(Class<?> type, String method, String exception) {
+	}
+
+	@Around("within(@org.springframework.stereotype.Service *)")
+	public Object time(ProceedingJoinPoint pjp) throws Throwable {
+		Timer.Sample sample = Timer.start(registry);
+		String exception = "none";
+		try {
+			return pjp.proceed();
+		}
+		catch(Throwable e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		}
+		finally {
+			TimerKey key = new TimerKey(pjp.getSignature().getDeclaringType(), pjp.getSignature().getName(), exception);
+			sample.stop(timers.computeIfAbsent(key, k -> Timer.builder("app.service.invocations")
+					.tag("class", k.type().getSimpleName())
+					.tag("method", k.method())
+					.tag("exception", k.exception())
+					.publishPercentileHistogram()
+					.register(registry)));
+		}
+	}
+}
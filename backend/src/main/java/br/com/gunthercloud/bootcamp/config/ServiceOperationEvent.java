@@ -0,0 +1,44 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Desligado por padrão: com o evento desabilitado o custo é um isEnabled()
+@Name("br.com.gunthercloud.ServiceOperation")
+@Label("Service Operation")
+@Category({ "Bootcamp", "Service" })
+@Description("Chamada a um método de @Service com ids, paginação, linhas e tempo de banco")
+@Enabled(false)
+@StackTrace(false)
+public class ServiceOperationEvent extends jdk.jfr.Event {
+
+	@Label("Service")
+	public String service;
+
+	@Label("Operation")
+	public String operation;
+
+	@Label("Entity Id")
+	public long entityId = -1;
+
+	@Label("Page Size")
+	public int pageSize = -1;
+
+	@Label("Row Count")
+	public int rowCount = -1;
+
+	@Label("SQL Statements")
+	public int sqlStatements;
+
+	@Label("DB Time")
+	@Timespan(Timespan.NANOSECONDS)
+	public long dbTime;
+
+	@Label("Exception")
+	public String exception;
+}
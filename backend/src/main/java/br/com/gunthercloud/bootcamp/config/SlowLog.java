@@ -0,0 +1,120 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Log de queries e requisições lentas. As entradas vão para dois RingBuffer (consultados
+// pelo SlowLogEndpoint) e são escritas no log por uma thread própria, que descarta
+// mensagens se ficar para trás: a thread da requisição nunca espera pelo log.
+@Component
+public class SlowLog {
+
+	private static final Logger logger = LoggerFactory.getLogger(SlowLog.class);
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+	private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+
+	// Só para o SqlTimingSessionListener, criado pelo Hibernate fora do Spring;
+	// beans (SqlStatementFilter, SlowLogEndpoint) recebem o SlowLog por injeção
+	private static volatile SlowLog instance;
+
+	@Value("${app.slowlog.query-threshold-ms:100}")
+	private long queryThresholdMillis;
+
+	@Value("${app.slowlog.request-threshold-ms:500}")
+	private long requestThresholdMillis;
+
+	@Value("${app.slowlog.sample-rate:1.0}")
+	private double sampleRate;
+
+	@Value("${app.slowlog.capacity:256}")
+	private int capacity;
+
+	private RingBuffer<SlowLogEntry> queries;
+	private RingBuffer<SlowLogEntry> requests;
+	private ThreadPoolExecutor writer;
+
+	@PostConstruct
+	public void init() {
+		queries = new RingBuffer<>(capacity);
+		requests = new RingBuffer<>(capacity);
+		writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1024),
+				new CustomizableThreadFactory("slow-log-"), new ThreadPoolExecutor.DiscardPolicy());
+		instance = this;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if(instance == this)
+			instance = null;
+		writer.shutdown();
+	}
+
+	static void recordQuery(String sql, long nanos) {
+		SlowLog slowLog = instance;
+		if(slowLog != null)
+			slowLog.query(sql, nanos);
+	}
+
+	void query(String sql, long nanos) {
+		if(sql == null || nanos < TimeUnit.MILLISECONDS.toNanos(queryThresholdMillis) || !sampled())
+			return;
+		String text = redact(sql);
+		SlowLogEntry entry = new SlowLogEntry("query", fingerprint(text), text, TimeUnit.NANOSECONDS.toMicros(nanos), null, Instant.now());
+		queries.add(entry);
+		writer.execute(() -> logger.warn("Slow query {} ({} us): {}", entry.getFingerprint(), entry.getDurationMicros(), entry.getText()));
+	}
+
+	public void request(String method, String uri, long nanos, int sqlStatements) {
+		if(nanos < TimeUnit.MILLISECONDS.toNanos(requestThresholdMillis) || !sampled())
+			return;
+		String text = method + " " + uri;
+		SlowLogEntry entry = new SlowLogEntry("request", fingerprint(text), text, TimeUnit.NANOSECONDS.toMicros(nanos), sqlStatements, Instant.now());
+		requests.add(entry);
+		writer.execute(() -> logger.warn("Slow request {} ({} us, {} statements)", entry.getText(), entry.getDurationMicros(), sqlStatements));
+	}
+
+	public List<SlowLogEntry> slowestQueries(int limit) {
+		return top(queries, limit);
+	}
+
+	public List<SlowLogEntry> slowestRequests(int limit) {
+		return top(requests, limit);
+	}
+
+	// Literais trocados por ? (os parâmetros do Hibernate já chegam como ?)
+	static String redact(String sql) {
+		String text = STRING_LITERAL.matcher(sql).replaceAll("?");
+		text = NUMBER_LITERAL.matcher(text).replaceAll("?");
+		return SqlStatementCounter.shapeOf(text);
+	}
+
+	static String fingerprint(String text) {
+		return String.format("%08x", text.hashCode());
+	}
+
+	private boolean sampled() {
+		return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+	}
+
+	private static List<SlowLogEntry> top(RingBuffer<SlowLogEntry> buffer, int limit) {
+		return buffer.snapshot().stream()
+				.sorted(Comparator.comparingLong(SlowLogEntry::getDurationMicros).reversed())
+				.limit(limit)
+				.toList();
+	}
+}
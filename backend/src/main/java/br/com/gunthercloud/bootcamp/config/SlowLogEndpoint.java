@@ -0,0 +1,28 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+// GET /actuator/slowlog?limit=20
+@Component
+@Endpoint(id = "slowlog")
+public class SlowLogEndpoint {
+
+	@Autowired
+	private SlowLog slowLog;
+
+	@ReadOperation
+	public Map<String, Object> slowest(@Nullable Integer limit) {
+		int n = limit != null ? limit : 20;
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("queries", slowLog.slowestQueries(n));
+		map.put("requests", slowLog.slowestRequests(n));
+		return map;
+	}
+}
@@ -0,0 +1,49 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+public class SlowLogEntry implements Serializable {
+	private static final long serialVersionUID = 1L;
+	
+	private final String type;
+	private final String fingerprint;
+	private final String text;
+	private final long durationMicros;
+	private final Integer sqlStatements;
+	private final Instant timestamp;
+
+	public SlowLogEntry(String type, String fingerprint, String text, long durationMicros, Integer sqlStatements, Instant timestamp) {
+		this.type = type;
+		this.fingerprint = fingerprint;
+		this.text = text;
+		this.durationMicros = durationMicros;
+		this.sqlStatements = sqlStatements;
+		this.timestamp = timestamp;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public long getDurationMicros() {
+		return durationMicros;
+	}
+
+	public Integer getSqlStatements() {
+		return sqlStatements;
+	}
+
+	public Instant getTimestamp() {
+		return timestamp;
+	}
+
+}
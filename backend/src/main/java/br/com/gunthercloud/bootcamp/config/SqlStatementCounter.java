@@ -0,0 +1,95 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Contador de statements JDBC por thread (requisição ou teste).
+// Alimentado pelo SqlStatementInspector (SQL) e pelo SqlTimingSessionListener (tempo).
+// Contextos podem ser aninhados: o que é registrado no filho também conta no pai.
+public final class SqlStatementCounter {
+
+	private static final ThreadLocal<Context> CURRENT = new ThreadLocal<>();
+	private static final ThreadLocal<String> LAST_STATEMENT = new ThreadLocal<>();
+	private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+	private SqlStatementCounter() {
+	}
+
+	public static Context start() {
+		Context context = new Context(CURRENT.get());
+		CURRENT.set(context);
+		return context;
+	}
+
+	public static void stop(Context context) {
+		CURRENT.set(context.parent);
+	}
+
+	public static Context current() {
+		return CURRENT.get();
+	}
+
+	static void recordStatement(String sql) {
+		LAST_STATEMENT.set(sql);
+		Context context = CURRENT.get();
+		if(context == null)
+			return;
+		String shape = shapeOf(sql);
+		for(Context c = context; c != null; c = c.parent) {
+			c.count++;
+			c.shapes.merge(shape, 1, Integer::sum);
+		}
+	}
+
+	static void recordTime(long nanos) {
+		for(Context c = CURRENT.get(); c != null; c = c.parent)
+			c.timeNanos += nanos;
+	}
+
+	// Último statement preparado nesta thread, usado para atribuir o tempo de execução
+	static String lastStatement() {
+		return LAST_STATEMENT.get();
+	}
+
+	// Mesma consulta com listas IN de tamanhos diferentes tem o mesmo formato
+	static String shapeOf(String sql) {
+		return IN_LIST.matcher(sql.replaceAll("\\s+", " ").trim()).replaceAll("(?)");
+	}
+
+	public static class Context {
+
+		private final Context parent;
+		private final Map<String, Integer> shapes = new HashMap<>();
+		private int count;
+		private long timeNanos;
+
+		private Context(Context parent) {
+			this.parent = parent;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public long getTimeNanos() {
+			return timeNanos;
+		}
+
+		public Map<String, Integer> getShapes() {
+			return shapes;
+		}
+
+		// Statements com o mesmo formato repetidos pelo menos "threshold" vezes: provável N+1
+		public List<String> getSuspectedNPlusOne(int threshold) {
+			List<String> list = new ArrayList<>();
+			shapes.forEach((sql, n) -> {
+				if(n >= threshold && sql.regionMatches(true, 0, "select", 0, 6))
+					list.add(sql);
+			});
+			return list;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Abre um SqlStatementCounter por requisição, publica contagem/tempo em métricas,
+// sinaliza suspeitas de N+1 e registra requisições lentas no SlowLog.
+// Os headers são escritos pelo SqlStatementResponseAdvice.
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+	public static final String COUNT_HEADER = "X-SQL-Count";
+	public static final String TIME_HEADER = "X-SQL-Time-Ms";
+	public static final String N_PLUS_ONE_HEADER = "X-SQL-N-Plus-One";
+
+	private static final Logger logger = LoggerFactory.getLogger(SqlStatementFilter.class);
+
+	@Autowired
+	private ObjectProvider<MeterRegistry> registry;
+
+	// ObjectProvider: nos testes de fatia (@WebMvcTest) o SlowLog não é carregado
+	@Autowired
+	private ObjectProvider<SlowLog> slowLog;
+
+	@Value("${app.sql.n-plus-one-threshold:3}")
+	private int nPlusOneThreshold;
+
+	// Medidores por método/rota: evita o lookup no registry (4 tags) a cada requisição.
+	// O contador de N+1 só é registrado na primeira suspeita da rota.
+	private final Map<Route, RouteMeters> meters = new ConcurrentHashMap<>();
+	private final Map<Route, Counter> nPlusOneCounters = new ConcurrentHashMap<>();
+
+	private record Route(String method, String uri) {
+	}
+
+	private record RouteMeters(DistributionSummary statements, Timer time) {
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		long start = System.nanoTime();
+		SqlStatementCounter.Context context = SqlStatementCounter.start();
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			SqlStatementCounter.stop(context);
+			long nanos = System.nanoTime() - start;
+			if(!response.isCommitted())
+				writeHeaders(context, response, nPlusOneThreshold);
+			report(context, request);
+			// Sem query string: pode carregar dados do cliente
+			slowLog.ifAvailable(x -> x.request(request.getMethod(), request.getRequestURI(), nanos, context.getCount()));
+		}
+	}
+
+	public int getNPlusOneThreshold() {
+		return nPlusOneThreshold;
+	}
+
+	static void writeHeaders(SqlStatementCounter.Context context, HttpServletResponse response, int threshold) {
+		response.setHeader(COUNT_HEADER, String.valueOf(context.getCount()));
+		response.setHeader(TIME_HEADER, String.valueOf(Duration.ofNanos(context.getTimeNanos()).toMillis()));
+		int suspects = context.getSuspectedNPlusOne(threshold).size();
+		if(suspects > 0)
+			response.setHeader(N_PLUS_ONE_HEADER, String.valueOf(suspects));
+	}
+
+	private void report(SqlStatementCounter.Context context, HttpServletRequest request) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+		List<String> suspects = context.getSuspectedNPlusOne(nPlusOneThreshold);
+		for(String sql : suspects)
+			logger.warn("Suspected N+1 on {} {}: {}x {}", request.getMethod(), uri, context.getShapes().get(sql), sql);
+
+		registry.ifAvailable(r -> {
+			Route route = new Route(request.getMethod(), uri);
+			RouteMeters m = meters.computeIfAbsent(route, k -> new RouteMeters(
+					r.summary("app.sql.statements", "method", k.method(), "uri", k.uri()),
+					r.timer("app.sql.time", "method", k.method(), "uri", k.uri())));
+			m.statements().record(context.getCount());
+			m.time().record(Duration.ofNanos(context.getTimeNanos()));
+			if(!suspects.isEmpty())
+				nPlusOneCounters.computeIfAbsent(route, k -> r.counter("app.sql.n_plus_one", "method", k.method(), "uri", k.uri()))
+						.increment();
+		});
+	}
+}
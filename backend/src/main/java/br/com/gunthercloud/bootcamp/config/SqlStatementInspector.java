@@ -0,0 +1,14 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Registrado em hibernate.session_factory.statement_inspector
+public class SqlStatementInspector implements StatementInspector {
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public String inspect(String sql) {
+		SqlStatementCounter.recordStatement(sql);
+		return sql;
+	}
+}
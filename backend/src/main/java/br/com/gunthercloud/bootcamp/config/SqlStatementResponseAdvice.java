@@ -0,0 +1,34 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// O corpo é escrito antes do filtro terminar, então os headers de SQL entram aqui
+@ControllerAdvice
+public class SqlStatementResponseAdvice implements ResponseBodyAdvice<Object> {
+
+	@Autowired
+	private SqlStatementFilter filter;
+
+	@Override
+	public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+		return true;
+	}
+
+	@Override
+	public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+			Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+			ServerHttpResponse response) {
+		SqlStatementCounter.Context context = SqlStatementCounter.current();
+		if(context != null && response instanceof ServletServerHttpResponse r)
+			SqlStatementFilter.writeHeaders(context, r.getServletResponse(), filter.getNPlusOneThreshold());
+		return body;
+	}
+}
@@ -0,0 +1,34 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import org.hibernate.BaseSessionEventListener;
+
+// Registrado em hibernate.session.events.auto; uma instância por Session
+public class SqlTimingSessionListener extends BaseSessionEventListener {
+	private static final long serialVersionUID = 1L;
+
+	private long start;
+
+	@Override
+	public void jdbcExecuteStatementStart() {
+		start = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		long nanos = System.nanoTime() - start;
+		SqlStatementCounter.recordTime(nanos);
+		SlowLog.recordQuery(SqlStatementCounter.lastStatement(), nanos);
+	}
+
+	@Override
+	public void jdbcExecuteBatchStart() {
+		start = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		long nanos = System.nanoTime() - start;
+		SqlStatementCounter.recordTime(nanos);
+		SlowLog.recordQuery(SqlStatementCounter.lastStatement(), nanos);
+	}
+}
@@ -0,0 +1,37 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket na forma GCRA: o estado é um único instante (quando o balde estaria cheio de novo),
+// atualizado por CAS. Sem lock e sem thread de reposição.
+public class TokenBucket {
+
+	private final long emissionNanos;
+	private final long burstNanos;
+	private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+	public TokenBucket(double tokensPerSecond, int burst) {
+		if(tokensPerSecond <= 0 || burst < 1)
+			throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+		this.emissionNanos = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+		this.burstNanos = emissionNanos * burst;
+	}
+
+	// 0 = liberado; senão, quanto falta (ns) para haver um token
+	public long tryAcquire(long nowNanos) {
+		while(true) {
+			long current = theoreticalArrival.get();
+			long next = Math.max(current, nowNanos) + emissionNanos;
+			long wait = next - nowNanos - burstNanos;
+			if(wait > 0)
+				return wait;
+			if(theoreticalArrival.compareAndSet(current, next))
+				return 0;
+		}
+	}
+
+	// Cheio: pode ser descartado sem mudar o comportamento
+	public boolean isFull(long nowNanos) {
+		return theoreticalArrival.get() <= nowNanos;
+	}
+}
@@ -0,0 +1,253 @@
+package br.com.gunthercloud.bootcamp.datagen;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Gera um catálogo sintético grande para testes de carga/escala (profile "datagen").
+// Determinístico a partir da semente e gravado em lotes JDBC, sem passar pelo JPA:
+// mvn spring-boot:run -Dspring-boot.run.profiles=test,datagen -Dspring-boot.run.arguments="--app.datagen.products=1000000"
+@Component
+@Profile("datagen")
+public class CatalogDataGenerator implements ApplicationRunner {
+
+	private static final Logger logger = LoggerFactory.getLogger(CatalogDataGenerator.class);
+
+	private static final String[] ADJECTIVES = { "Smart", "Ultra", "Pro", "Mini", "Max", "Classic", "Gamer", "Slim", "Turbo", "Eco",
+			"Digital", "Wireless", "Premium", "Compact", "Portable", "Advanced", "Deluxe", "Basic", "Super", "Hyper" };
+	private static final String[] NOUNS = { "TV", "Notebook", "PC", "Phone", "Tablet", "Monitor", "Keyboard", "Mouse", "Headset",
+			"Camera", "Speaker", "Router", "Printer", "Watch", "Console", "Book", "Drone", "Projector", "Charger", "Microphone" };
+	private static final String[] WORDS = ("lorem ipsum dolor sit amet consectetur adipiscing elit sed do eiusmod tempor incididunt ut labore "
+			+ "et dolore magna aliqua enim ad minim veniam quis nostrud exercitation ullamco laboris nisi aliquip ex ea commodo "
+			+ "consequat duis aute irure in reprehenderit voluptate velit esse cillum fugiat nulla pariatur excepteur sint occaecat "
+			+ "cupidatat non proident sunt culpa qui officia deserunt mollit anim id est laborum").split(" ");
+	private static final String[] FIRST_NAMES = { "Ana", "Bruno", "Carla", "Diego", "Elisa", "Felipe", "Gabriela", "Hugo", "Isabel",
+			"João", "Karen", "Lucas", "Maria", "Nicolas", "Olivia", "Pedro", "Rafaela", "Samuel", "Tatiana", "Vitor" };
+	private static final String[] LAST_NAMES = { "Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira", "Costa", "Rodrigues",
+			"Almeida", "Nascimento", "Brown", "Green", "Smith", "Jones", "Garcia", "Miller" };
+	private static final Instant DATE_END = Instant.parse("2025-01-01T00:00:00Z");
+	private static final long DATE_RANGE_SECONDS = Duration.ofDays(5 * 365).toSeconds();
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private BCryptPasswordEncoder passwordEncoder;
+
+	@Value("${app.datagen.products:100000}")
+	private int products;
+
+	@Value("${app.datagen.categories:50}")
+	private int categories;
+
+	@Value("${app.datagen.users:1000}")
+	private int users;
+
+	@Value("${app.datagen.seed:42}")
+	private long seed;
+
+	@Value("${app.datagen.batch-size:5000}")
+	private int batchSize;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		long start = System.nanoTime();
+		generate(products, categories, users, seed);
+		logger.info("Generated {} products, {} categories and {} users in {} ms", products, categories, users,
+				Duration.ofNanos(System.nanoTime() - start).toMillis());
+	}
+
+	public void generate(int productCount, int categoryCount, int userCount, long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+		long[] categoryIds = insertCategories(categoryCount);
+		double[] zipf = zipfCumulative(categoryIds.length, 1.1);
+		insertProducts(productCount, categoryIds, zipf, random);
+		insertUsers(userCount, random);
+	}
+
+	private long[] insertCategories(int count) {
+		List<Object[]> rows = new ArrayList<>();
+		for(int i = 0; i < count; i++)
+			rows.add(new Object[] { "Categoria " + (i + 1) });
+		long base = firstFreeId("tb_category");
+		long[] ids = transactionTemplate.execute(status -> insertWithIds("tb_category", "name", rows, base));
+		restartIdentity("tb_category", base + count);
+		return ids;
+	}
+
+	private void insertProducts(int count, long[] categoryIds, double[] zipf, SplittableRandom random) {
+		long base = firstFreeId("tb_product");
+		for(int from = 0; from < count; from += batchSize) {
+			int size = Math.min(batchSize, count - from);
+			List<Object[]> rows = new ArrayList<>(size);
+			for(int i = 0; i < size; i++)
+				rows.add(new Object[] { productName(random), description(random), price(random),
+						"https://img.example.com/" + (from + i + 1) + ".jpg", Timestamp.from(date(random)) });
+
+			long firstId = base + from;
+			transactionTemplate.executeWithoutResult(status -> {
+				long[] ids = insertWithIds("tb_product", "name, description, price, img_url, date", rows, firstId);
+				List<Object[]> links = new ArrayList<>();
+				for(long id : ids) {
+					for(long categoryId : pickCategories(categoryIds, zipf, random))
+						links.add(new Object[] { id, categoryId });
+				}
+				jdbcTemplate.batchUpdate("INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)", links);
+			});
+		}
+		restartIdentity("tb_product", base + count);
+	}
+
+	private void insertUsers(int count, SplittableRandom random) {
+		// Um único hash para todos: gerar milhares de BCrypt dominaria o tempo de carga
+		String password = passwordEncoder.encode("123456");
+		List<Long> roleIds = jdbcTemplate.queryForList("SELECT id FROM tb_role ORDER BY id", Long.class);
+		long base = firstFreeId("tb_user");
+		for(int from = 0; from < count; from += batchSize) {
+			int size = Math.min(batchSize, count - from);
+			List<Object[]> rows = new ArrayList<>(size);
+			for(int i = 0; i < size; i++) {
+				String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+				String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+				rows.add(new Object[] { first, last, "user" + (from + i + 1) + "@datagen.example.com", password });
+			}
+			long firstId = base + from;
+			transactionTemplate.executeWithoutResult(status -> {
+				long[] ids = insertWithIds("tb_user", "first_name, last_name, email, password", rows, firstId);
+				List<Object[]> links = new ArrayList<>();
+				for(long id : ids) {
+					if(!roleIds.isEmpty())
+						links.add(new Object[] { id, roleIds.get(0) });
+					// ~10% também admin
+					if(roleIds.size() > 1 && random.nextInt(10) == 0)
+						links.add(new Object[] { id, roleIds.get(1) });
+				}
+				jdbcTemplate.batchUpdate("INSERT INTO tb_user_role (user_id, role_id) VALUES (?, ?)", links);
+			});
+		}
+		restartIdentity("tb_user", base + count);
+	}
+
+	// Ids atribuídos aqui (evita getGeneratedKeys por lote, que domina o tempo de carga). A faixa
+	// é reservada uma vez por tabela (firstFreeId) e a identidade só é reposicionada no fim
+	// (restartIdentity): o ALTER TABLE faz commit implícito e não pode ficar dentro dos lotes.
+	// Pressupõe que nada mais grava na tabela durante a carga.
+	private long firstFreeId(String table) {
+		return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+	}
+
+	// Sintaxe válida no H2 e no Postgres
+	private void restartIdentity(String table, long next) {
+		jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+	}
+
+	private long[] insertWithIds(String table, String columns, List<Object[]> rows, long first) {
+		if(rows.isEmpty())
+			return new long[0];
+		long[] ids = new long[rows.size()];
+		int params = rows.get(0).length;
+		String sql = "INSERT INTO " + table + " (id, " + columns + ") VALUES (?" + ", ?".repeat(params) + ")";
+		jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement ps, int i) throws SQLException {
+				ids[i] = first + i;
+				ps.setLong(1, ids[i]);
+				Object[] row = rows.get(i);
+				for(int k = 0; k < row.length; k++)
+					ps.setObject(k + 2, row[k]);
+			}
+
+			@Override
+			public int getBatchSize() {
+				return rows.size();
+			}
+		});
+		return ids;
+	}
+
+	// Nome entre 5 e 60 caracteres (mesma regra do ProductDTO)
+	static String productName(SplittableRandom random) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(ADJECTIVES[random.nextInt(ADJECTIVES.length)]).append(' ').append(NOUNS[random.nextInt(NOUNS.length)]);
+		if(random.nextInt(3) > 0)
+			sb.append(' ').append(ADJECTIVES[random.nextInt(ADJECTIVES.length)]);
+		sb.append(' ').append(random.nextInt(100, 10000));
+		return sb.length() > 60 ? sb.substring(0, 60) : sb.toString();
+	}
+
+	// Tamanho log-normal: mediana ~300 caracteres, cauda longa até ~4000
+	static String description(SplittableRandom random) {
+		int length = (int) Math.min(4000, Math.max(20, Math.exp(5.7 + 0.8 * gaussian(random))));
+		StringBuilder sb = new StringBuilder(length + 16);
+		while(sb.length() < length)
+			sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+		sb.setLength(length);
+		sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+		return sb.toString().trim() + ".";
+	}
+
+	// Preço log-normal: mediana ~R$ 400
+	static double price(SplittableRandom random) {
+		return Math.round(Math.exp(6.0 + 1.2 * gaussian(random)) * 100.0) / 100.0 + 0.01;
+	}
+
+	static Instant date(SplittableRandom random) {
+		return DATE_END.minusSeconds(random.nextLong(DATE_RANGE_SECONDS));
+	}
+
+	// 1 a 3 categorias por produto, sorteadas com distribuição de Zipf (poucas categorias concentram a maioria)
+	static Set<Long> pickCategories(long[] categoryIds, double[] zipf, SplittableRandom random) {
+		Set<Long> set = new LinkedHashSet<>();
+		if(categoryIds.length == 0)
+			return set;
+		int n = Math.min(categoryIds.length, 1 + (random.nextInt(10) < 6 ? 0 : random.nextInt(1, 3)));
+		while(set.size() < n) {
+			int index = Arrays.binarySearch(zipf, random.nextDouble());
+			set.add(categoryIds[Math.min(index < 0 ? -index - 1 : index, categoryIds.length - 1)]);
+		}
+		return set;
+	}
+
+	static double[] zipfCumulative(int n, double exponent) {
+		double[] cumulative = new double[n];
+		double sum = 0;
+		for(int i = 0; i < n; i++) {
+			sum += 1.0 / Math.pow(i + 1, exponent);
+			cumulative[i] = sum;
+		}
+		for(int i = 0; i < n; i++)
+			cumulative[i] /= sum;
+		return cumulative;
+	}
+
+	private static double gaussian(SplittableRandom random) {
+		// Box-Muller: SplittableRandom não tem nextGaussian no Java 17
+		double u = 1.0 - random.nextDouble();
+		double v = random.nextDouble();
+		return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+	}
+}
@@ -0,0 +1,119 @@
+package br.com.gunthercloud.bootcamp.entitites;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Linha do outbox: gravada na mesma transação da alteração. O id é o número de sequência
+// usado pelos nós para detectar eventos perdidos.
+@Entity
+@Table(name = "tb_change_event")
+public class ChangeEvent implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	public enum Type {
+		PRODUCT, CATEGORY, USER
+	}
+
+	public enum Operation {
+		INSERT, UPDATE, DELETE
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "entity_type")
+	private Type type;
+
+	private Long entityId;
+
+	@Enumerated(EnumType.STRING)
+	private Operation operation;
+
+	private Instant createdAt;
+
+	public ChangeEvent() {
+
+	}
+
+	public ChangeEvent(Long id, Type type, Long entityId, Operation operation, Instant createdAt) {
+		this.id = id;
+		this.type = type;
+		this.entityId = entityId;
+		this.operation = operation;
+		this.createdAt = createdAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public void setType(Type type) {
+		this.type = type;
+	}
+
+	public Long getEntityId() {
+		return entityId;
+	}
+
+	public void setEntityId(Long entityId) {
+		this.entityId = entityId;
+	}
+
+	public Operation getOperation() {
+		return operation;
+	}
+
+	public void setOperation(Operation operation) {
+		this.operation = operation;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ChangeEvent other = (ChangeEvent) obj;
+		return Objects.equals(id, other.id);
+	}
+
+	@Override
+	public String toString() {
+		return "ChangeEvent [id=" + id + ", type=" + type + ", entityId=" + entityId + ", operation=" + operation + "]";
+	}
+}
@@ -8,7 +8,6 @@ import java.util.Set;
 import org.springframework.beans.BeanUtils;
 
 import br.com.gunthercloud.bootcamp.entitites.dto.UserDTO;
-import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -23,17 +22,19 @@ import jakarta.persistence.Table;
 @Table(name = "tb_user")
 public class User implements Serializable {
 	private static final long serialVersionUID = 1L;
+	
+	// Índice único sobre email_lower (migration V5): e-mail único sem diferenciar maiúsculas
+	public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_user_email_lower";
 
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 	private String firstName;
 	private String lastName;
-	@Column(unique = true)
 	private String email;
 	private String password;
 	
-	@ManyToMany(fetch = FetchType.EAGER)
+	@ManyToMany(fetch = FetchType.LAZY)
 	@JoinTable(name = "tb_user_role", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "role_id"))
 	private Set<Role> roles = new HashSet<>();
 	
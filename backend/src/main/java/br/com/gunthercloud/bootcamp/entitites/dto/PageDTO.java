@@ -0,0 +1,85 @@
+package br.com.gunthercloud.bootcamp.entitites.dto;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+// Envelope das listagens: {content, page, size, totalElements} (ou hasNext quando não há contagem).
+// Substitui a serialização do PageImpl, que arrasta Pageable/Sort e campos redundantes.
+@JsonSerialize(using = PageDTO.Serializer.class)
+public class PageDTO<T> {
+
+	private final List<T> content;
+	private final int page;
+	private final int size;
+	private final Long totalElements;
+	private final boolean hasNext;
+
+	public PageDTO(Slice<T> slice) {
+		this.content = slice.getContent();
+		this.page = slice.getNumber();
+		this.size = slice.getSize();
+		this.totalElements = slice instanceof Page<T> p ? p.getTotalElements() : null;
+		this.hasNext = slice.hasNext();
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public int getPage() {
+		return page;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public Long getTotalElements() {
+		return totalElements;
+	}
+
+	public boolean hasNext() {
+		return hasNext;
+	}
+
+	// Escreve direto no gerador (JSON, CBOR ou Smile), sem árvore intermediária; o serializador
+	// do item é resolvido uma vez por tipo, não a cada elemento
+	static class Serializer extends JsonSerializer<PageDTO<?>> {
+
+		@Override
+		public void serialize(PageDTO<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+			gen.writeStartObject(value);
+			gen.writeFieldName("content");
+			gen.writeStartArray(value.content, value.content.size());
+			Class<?> type = null;
+			JsonSerializer<Object> serializer = null;
+			for(Object item : value.content) {
+				if(item == null) {
+					provider.defaultSerializeNull(gen);
+					continue;
+				}
+				if(item.getClass() != type) {
+					type = item.getClass();
+					serializer = provider.findTypedValueSerializer(type, true, null);
+				}
+				serializer.serialize(item, gen, provider);
+			}
+			gen.writeEndArray();
+			gen.writeNumberField("page", value.page);
+			gen.writeNumberField("size", value.size);
+			if(value.totalElements != null)
+				gen.writeNumberField("totalElements", value.totalElements);
+			else
+				gen.writeBooleanField("hasNext", value.hasNext);
+			gen.writeEndObject();
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package br.com.gunthercloud.bootcamp.entitites.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+
+public class ProductChangeDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+	
+	private Long sequence;
+	private Long productId;
+	private String operation;
+	private Instant timestamp;
+	
+	public ProductChangeDTO() {
+		
+	}
+
+	public ProductChangeDTO(Long sequence, Long productId, String operation, Instant timestamp) {
+		this.sequence = sequence;
+		this.productId = productId;
+		this.operation = operation;
+		this.timestamp = timestamp;
+	}
+	
+	public ProductChangeDTO(ChangeEvent event) {
+		this(event.getId(), event.getEntityId(), event.getOperation().name(), event.getCreatedAt());
+	}
+
+	public Long getSequence() {
+		return sequence;
+	}
+
+	public void setSequence(Long sequence) {
+		this.sequence = sequence;
+	}
+
+	public Long getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Long productId) {
+		this.productId = productId;
+	}
+
+	public String getOperation() {
+		return operation;
+	}
+
+	public void setOperation(String operation) {
+		this.operation = operation;
+	}
+
+	public Instant getTimestamp() {
+		return timestamp;
+	}
+
+	public void setTimestamp(Instant timestamp) {
+		this.timestamp = timestamp;
+	}
+
+}
@@ -0,0 +1,73 @@
+package br.com.gunthercloud.bootcamp.entitites.dto;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import br.com.gunthercloud.bootcamp.services.exceptions.FieldValidationException;
+
+// Campos pedidos em ?fields= (GET /products e /products/{id}). Define tanto a saída quanto as
+// colunas do SELECT: description (TEXT) e o join de categorias só são lidos quando pedidos.
+// A ordem de saída é sempre a do ProductDTO, independente da ordem na URL.
+public record ProductFieldSet(List<String> columns, boolean categories) {
+
+	public static final List<String> COLUMNS = List.of("id", "name", "description", "price", "imgUrl", "date");
+	public static final String CATEGORIES = "categories";
+
+	public ProductFieldSet {
+		columns = List.copyOf(columns);
+	}
+
+	public static ProductFieldSet parse(String fields) {
+		Set<String> requested = new HashSet<>();
+		for(String f : fields.split(",")) {
+			String name = f.trim();
+			if(name.isEmpty())
+				continue;
+			if(!COLUMNS.contains(name) && !CATEGORIES.equals(name))
+				throw new FieldValidationException("fields", "Unknown field: " + name);
+			requested.add(name);
+		}
+		if(requested.isEmpty())
+			throw new FieldValidationException("fields", "At least one field is required");
+
+		List<String> columns = new ArrayList<>();
+		for(String c : COLUMNS) {
+			if(requested.contains(c))
+				columns.add(c);
+		}
+		return new ProductFieldSet(columns, requested.contains(CATEGORIES));
+	}
+
+	// Colunas do SELECT: o id entra sempre que as categorias forem pedidas (chave da segunda consulta)
+	public List<String> selectedColumns() {
+		if(!categories || columns.contains("id"))
+			return columns;
+		List<String> selected = new ArrayList<>();
+		selected.add("id");
+		selected.addAll(columns);
+		return selected;
+	}
+
+	// Projeção em memória, para páginas que já estão montadas (ProductListingCache)
+	public Map<String, Object> project(ProductDTO dto) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		for(String c : columns) {
+			switch(c) {
+			case "id" -> map.put(c, dto.getId());
+			case "name" -> map.put(c, dto.getName());
+			case "description" -> map.put(c, dto.getDescription());
+			case "price" -> map.put(c, dto.getPrice());
+			case "imgUrl" -> map.put(c, dto.getImgUrl());
+			case "date" -> map.put(c, dto.getDate());
+			default -> throw new IllegalStateException(c);
+			}
+		}
+		if(categories)
+			map.put(CATEGORIES, dto.getCategories());
+		return map;
+	}
+}
@@ -0,0 +1,56 @@
+package br.com.gunthercloud.bootcamp.entitites.dto;
+
+import java.io.Serializable;
+
+public class UserBulkItemDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+	
+	private Integer index;
+	private String email;
+	private Long id;
+	private String error;
+	
+	public UserBulkItemDTO() {
+		
+	}
+
+	public UserBulkItemDTO(Integer index, String email, Long id, String error) {
+		this.index = index;
+		this.email = email;
+		this.id = id;
+		this.error = error;
+	}
+
+	public Integer getIndex() {
+		return index;
+	}
+
+	public void setIndex(Integer index) {
+		this.index = index;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+}
@@ -0,0 +1,10 @@
+package br.com.gunthercloud.bootcamp.events;
+
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+
+// Como os eventos do outbox chegam ao ChangeEventDispatcher de cada nó (app.events.bus)
+public interface ChangeEventBus {
+
+	// Chamado dentro da transação que gravou o evento; a entrega só pode acontecer após o commit
+	void onPublished(ChangeEvent event);
+}
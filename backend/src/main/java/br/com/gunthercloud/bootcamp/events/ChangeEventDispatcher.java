@@ -0,0 +1,90 @@
+package br.com.gunthercloud.bootcamp.events;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+import br.com.gunthercloud.bootcamp.repositories.ChangeEventRepository;
+
+// Entrega os eventos do outbox aos ChangeEventListener deste nó, em ordem de sequência.
+// Sequência repetida é ignorada; sequência pulada (evento perdido, nó atrasado além da
+// retenção) vira um full flush, porque não dá para saber o que foi alterado.
+// Os ids pulados ficam guardados por late-commit-window-ms: se um deles aparecer depois
+// (transação que comitou após o full flush), ainda é entregue.
+@Component
+public class ChangeEventDispatcher {
+
+	private static final Logger logger = LoggerFactory.getLogger(ChangeEventDispatcher.class);
+
+	@Autowired
+	private ChangeEventRepository repository;
+
+	@Autowired
+	private ObjectProvider<ChangeEventListener> listeners;
+
+	// Só os ids logo abaixo do salto: um buraco maior que isso é retenção, não transação aberta
+	static final int MAX_SKIPPED = 1000;
+
+	@Value("${app.events.late-commit-window-ms:60000}")
+	private long lateCommitWindowMillis = 60000;
+
+	private long lastSequence;
+	private final TreeMap<Long, Instant> skipped = new TreeMap<>();
+
+	// Caches começam vazios: não há o que reprocessar, só onde começar
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void init() {
+		lastSequence = Math.max(lastSequence, repository.findMaxId());
+	}
+
+	public synchronized long getLastSequence() {
+		return lastSequence;
+	}
+
+	// Ids pulados que ainda podem aparecer; o poller volta a procurá-los na tabela
+	public synchronized List<Long> getSkippedSequences() {
+		expireSkipped();
+		return new ArrayList<>(skipped.keySet());
+	}
+
+	public synchronized void dispatch(List<ChangeEvent> events) {
+		for(ChangeEvent e : events) {
+			if(e.getId() <= lastSequence) {
+				// Commit atrasado de um id pulado: o full flush veio antes dele, então um cache
+				// pode ter recarregado o valor antigo nesse meio-tempo
+				if(skipped.remove(e.getId()) != null)
+					listeners.orderedStream().forEach(x -> x.onChange(e));
+				continue;
+			}
+			if(e.getId() != lastSequence + 1) {
+				logger.warn("Change event gap: expected {} but got {}, flushing local caches", lastSequence + 1, e.getId());
+				listeners.orderedStream().forEach(ChangeEventListener::onFullFlush);
+				Instant now = Instant.now();
+				for(long id = Math.max(lastSequence + 1, e.getId() - MAX_SKIPPED); id < e.getId(); id++)
+					skipped.put(id, now);
+			}
+			lastSequence = e.getId();
+			listeners.orderedStream().forEach(x -> x.onChange(e));
+		}
+		expireSkipped();
+	}
+
+	// Passada a janela o id é tratado como rollback: não aparece mais
+	private void expireSkipped() {
+		Instant limit = Instant.now().minusMillis(lateCommitWindowMillis);
+		skipped.values().removeIf(x -> x.isBefore(limit));
+		while(skipped.size() > MAX_SKIPPED)
+			skipped.pollFirstEntry();
+	}
+}
@@ -0,0 +1,12 @@
+package br.com.gunthercloud.bootcamp.events;
+
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+
+// Consumidor de alterações (ex.: caches locais). Recebe os eventos em ordem de sequência;
+// quando há buraco na sequência recebe onFullFlush e deve descartar tudo que guarda.
+public interface ChangeEventListener {
+
+	void onChange(ChangeEvent event);
+
+	void onFullFlush();
+}
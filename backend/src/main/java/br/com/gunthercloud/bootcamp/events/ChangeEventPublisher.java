@@ -0,0 +1,45 @@
+package br.com.gunthercloud.bootcamp.events;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+import br.com.gunthercloud.bootcamp.repositories.ChangeEventBatchRepository;
+import br.com.gunthercloud.bootcamp.repositories.ChangeEventRepository;
+
+@Component
+public class ChangeEventPublisher {
+
+	@Autowired
+	private ChangeEventRepository repository;
+
+	@Autowired
+	private ChangeEventBatchRepository batchRepository;
+
+	@Autowired
+	private ChangeEventBus bus;
+
+	// MANDATORY: o evento precisa entrar na mesma transação da alteração, senão o outbox
+	// pode registrar algo que não foi gravado (ou perder algo que foi)
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void publish(ChangeEvent.Type type, Long entityId, ChangeEvent.Operation operation) {
+		ChangeEvent event = repository.save(new ChangeEvent(null, type, entityId, operation, Instant.now()));
+		bus.onPublished(event);
+	}
+
+	// Um evento por id, gravados em um único batch JDBC
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void publishAll(ChangeEvent.Type type, List<Long> entityIds, ChangeEvent.Operation operation) {
+		if(entityIds.isEmpty())
+			return;
+		Instant now = Instant.now();
+		List<ChangeEvent> events = entityIds.stream().map(x -> new ChangeEvent(null, type, x, operation, now)).toList();
+		batchRepository.insertAll(events);
+		events.forEach(bus::onPublished);
+	}
+}
@@ -0,0 +1,31 @@
+package br.com.gunthercloud.bootcamp.events;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+
+// Um nó só (testes, desenvolvimento): entrega direto ao dispatcher local após o commit.
+// Commits concorrentes podem chegar fora de ordem; o dispatcher trata como buraco e faz full flush.
+@Component
+@ConditionalOnProperty(name = "app.events.bus", havingValue = "in-memory")
+public class InMemoryChangeEventBus implements ChangeEventBus {
+
+	@Autowired
+	private ChangeEventDispatcher dispatcher;
+
+	@Override
+	public void onPublished(ChangeEvent event) {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				dispatcher.dispatch(List.of(event));
+			}
+		});
+	}
+}
@@ -0,0 +1,133 @@
+package br.com.gunthercloud.bootcamp.events;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+import br.com.gunthercloud.bootcamp.repositories.ChangeEventRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// Vários nós: cada um lê o outbox por id crescente. Ids são reservados antes do commit, então um
+// buraco recente pode ser só uma transação ainda aberta; o poller espera gap-grace-ms antes de
+// passar por cima dele (e aí o dispatcher faz full flush). Os ids pulados continuam sendo
+// procurados pelo dispatcher até late-commit-window-ms, para não perder um commit atrasado.
+@Component
+@ConditionalOnProperty(name = "app.events.bus", havingValue = "polling", matchIfMissing = true)
+public class PollingChangeEventBus implements ChangeEventBus {
+
+	private static final Logger logger = LoggerFactory.getLogger(PollingChangeEventBus.class);
+
+	@Autowired
+	private ChangeEventRepository repository;
+
+	@Autowired
+	private ChangeEventDispatcher dispatcher;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${app.events.poll-interval-ms:500}")
+	private long pollIntervalMillis;
+
+	@Value("${app.events.poll-batch-size:500}")
+	private int batchSize;
+
+	@Value("${app.events.gap-grace-ms:2000}")
+	private long gapGraceMillis;
+
+	@Value("${app.events.retention-minutes:60}")
+	private long retentionMinutes;
+
+	private ScheduledExecutorService executor;
+	private Instant nextCleanup = Instant.EPOCH;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		dispatcher.init();
+		executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("change-event-poller-"));
+		executor.scheduleWithFixedDelay(this::pollSafely, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if(executor != null)
+			executor.shutdownNow();
+	}
+
+	// O poller lê da tabela; não há nada a fazer na transação de quem publica
+	@Override
+	public void onPublished(ChangeEvent event) {
+	}
+
+	private void pollSafely() {
+		try {
+			poll();
+			cleanup();
+		}
+		catch(RuntimeException e) {
+			logger.warn("Change event poll failed", e);
+		}
+	}
+
+	void poll() {
+		pollSkipped();
+		Instant graceLimit = Instant.now().minusMillis(gapGraceMillis);
+		List<ChangeEvent> events;
+		do {
+			long expected = dispatcher.getLastSequence() + 1;
+			events = repository.findByIdGreaterThanOrderByIdAsc(expected - 1, Limit.of(batchSize));
+			List<ChangeEvent> ready = new ArrayList<>();
+			for(ChangeEvent e : events) {
+				if(e.getId() != expected && e.getCreatedAt().isAfter(graceLimit))
+					break;
+				ready.add(e);
+				expected = e.getId() + 1;
+			}
+			if(ready.isEmpty())
+				return;
+			dispatcher.dispatch(ready);
+		}
+		while(events.size() == batchSize);
+	}
+
+	// Consulta por chave primária, só enquanto houver id pulado dentro da janela
+	private void pollSkipped() {
+		List<Long> skipped = dispatcher.getSkippedSequences();
+		if(skipped.isEmpty())
+			return;
+		List<ChangeEvent> late = new ArrayList<>(repository.findAllById(skipped));
+		if(late.isEmpty())
+			return;
+		late.sort(Comparator.comparing(ChangeEvent::getId));
+		dispatcher.dispatch(late);
+	}
+
+	// Todos os nós limpam; o delete é idempotente. Nó atrasado além da retenção vê buraco e faz full flush.
+	private void cleanup() {
+		Instant now = Instant.now();
+		if(now.isBefore(nextCleanup))
+			return;
+		nextCleanup = now.plus(Duration.ofMinutes(1));
+		Instant before = now.minus(Duration.ofMinutes(retentionMinutes));
+		transactionTemplate.executeWithoutResult(x -> repository.deleteOlderThan(before));
+	}
+}
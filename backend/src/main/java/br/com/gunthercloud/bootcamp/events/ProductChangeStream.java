@@ -0,0 +1,272 @@
+package br.com.gunthercloud.bootcamp.events;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+import br.com.gunthercloud.bootcamp.entitites.dto.ProductChangeDTO;
+import br.com.gunthercloud.bootcamp.repositories.ChangeEventRepository;
+import br.com.gunthercloud.bootcamp.services.exceptions.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// GET /products/changes: alterações de produto (após o commit) em Server-Sent Events.
+// O id de cada evento é a sequência do outbox; o cliente reconecta com Last-Event-ID e recebe
+// o que perdeu a partir de um buffer limitado. Se o id já saiu do buffer (ou houve full flush)
+// recebe "reset" e deve recarregar a listagem.
+// Assinante ocioso é só um SseEmitter (async do servlet): não segura thread do Tomcat.
+// Cada assinante tem uma fila curta própria; quem não lê enche a fila e é descartado (reconecta com
+// Last-Event-ID), sem atrasar os demais.
+@Component
+public class ProductChangeStream implements ChangeEventListener {
+
+	static final String EVENT_NAME = "product";
+	static final String RESET_EVENT_NAME = "reset";
+
+	// build() do SseEventBuilder não é idempotente: os quadros são montados uma vez e reenviados
+	private static final Set<DataWithMediaType> RESET = SseEmitter.event().name(RESET_EVENT_NAME).data("").build();
+	private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("").build();
+
+	@Autowired
+	private ChangeEventRepository repository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${app.products.changes.replay-capacity:1024}")
+	private int replayCapacity;
+
+	@Value("${app.products.changes.max-subscribers:10000}")
+	private int maxSubscribers;
+
+	@Value("${app.products.changes.timeout-ms:1800000}")
+	private long timeoutMillis;
+
+	@Value("${app.products.changes.heartbeat-ms:15000}")
+	private long heartbeatMillis;
+
+	@Value("${app.products.changes.retry-after-seconds:5}")
+	private long retryAfterSeconds;
+
+	@Value("${app.products.changes.subscriber-queue-capacity:64}")
+	private int subscriberQueueCapacity;
+
+	@Value("${app.products.changes.send-threads:4}")
+	private int sendThreads;
+
+	private final ArrayDeque<ChangeEvent> replay = new ArrayDeque<>();
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+	// SseEmitter.send é escrita bloqueante no socket: fica no pool de envio, nunca em quem publica.
+	// Cada assinante tem no máximo uma tarefa de envio pendente, então a fila do pool cabe em max-subscribers.
+	private ThreadPoolExecutor sender;
+
+	// O heartbeat só enfileira, não escreve
+	private final ScheduledExecutorService heartbeats = Executors
+			.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("product-changes-heartbeat-"));
+
+	// Maior sequência que já não está no buffer: Last-Event-ID abaixo disso não tem replay
+	private long floor;
+
+	// Após um full flush o próximo evento entregue define o novo piso
+	private boolean flushed;
+
+	@PostConstruct
+	void init() {
+		synchronized(replay) {
+			floor = repository.findMaxId();
+		}
+		sender = new ThreadPoolExecutor(sendThreads, sendThreads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(maxSubscribers), new CustomizableThreadFactory("product-changes-"));
+		heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	void shutdown() {
+		heartbeats.shutdownNow();
+		sender.shutdownNow();
+		subscribers.forEach(x -> x.emitter.complete());
+		subscribers.clear();
+	}
+
+	public SseEmitter subscribe(Long lastEventId) {
+		return subscribe(new SseEmitter(timeoutMillis), lastEventId);
+	}
+
+	SseEmitter subscribe(SseEmitter emitter, Long lastEventId) {
+		if(subscribers.size() >= maxSubscribers)
+			throw new TooManyRequestsException("Too many change stream subscribers", retryAfterSeconds);
+
+		Subscriber subscriber = new Subscriber(emitter, subscriberQueueCapacity);
+		emitter.onCompletion(() -> close(subscriber));
+		emitter.onTimeout(() -> close(subscriber));
+		emitter.onError(e -> close(subscriber));
+
+		// Registro e replay sob o mesmo lock da publicação: nenhum evento entre os dois se perde ou duplica
+		synchronized(replay) {
+			List<ChangeEvent> missed = new ArrayList<>();
+			boolean reset = false;
+			if(lastEventId != null) {
+				if(lastEventId < floor)
+					reset = true;
+				else {
+					for(ChangeEvent e : replay) {
+						if(e.getId() > lastEventId)
+							missed.add(e);
+					}
+				}
+			}
+			// Replay maior que a fila do assinante também vira reset
+			if(missed.size() > subscriberQueueCapacity) {
+				reset = true;
+				missed.clear();
+			}
+			if(reset)
+				enqueue(subscriber, RESET);
+			for(ChangeEvent e : missed)
+				enqueue(subscriber, toSseEvent(e));
+			subscribers.add(subscriber);
+		}
+		return emitter;
+	}
+
+	public int getSubscriberCount() {
+		return subscribers.size();
+	}
+
+	@Override
+	public void onChange(ChangeEvent event) {
+		synchronized(replay) {
+			if(flushed) {
+				floor = Math.max(floor, event.getId() - 1);
+				flushed = false;
+			}
+			if(event.getType() != ChangeEvent.Type.PRODUCT)
+				return;
+			replay.addLast(event);
+			while(replay.size() > replayCapacity)
+				floor = replay.removeFirst().getId();
+			Set<DataWithMediaType> sse = toSseEvent(event);
+			subscribers.forEach(x -> enqueue(x, sse));
+		}
+	}
+
+	// Não se sabe o que foi perdido: o buffer não serve mais para replay
+	@Override
+	public void onFullFlush() {
+		synchronized(replay) {
+			if(!replay.isEmpty())
+				floor = replay.peekLast().getId();
+			replay.clear();
+			flushed = true;
+			subscribers.forEach(x -> enqueue(x, RESET));
+		}
+	}
+
+	// Quem tem quadro na fila não precisa de heartbeat
+	private void heartbeat() {
+		subscribers.forEach(x -> {
+			if(x.queue.isEmpty())
+				enqueue(x, HEARTBEAT);
+		});
+	}
+
+	// JSON serializado uma vez por evento, não uma vez por assinante
+	private Set<DataWithMediaType> toSseEvent(ChangeEvent event) {
+		try {
+			String json = objectMapper.writeValueAsString(new ProductChangeDTO(event));
+			return SseEmitter.event().id(String.valueOf(event.getId())).name(EVENT_NAME).data(json).build();
+		}
+		catch(JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// Não bloqueia: fila cheia = assinante que não lê, descartado em vez de segurar os outros
+	private void enqueue(Subscriber subscriber, Set<DataWithMediaType> frame) {
+		if(!subscriber.queue.offer(frame)) {
+			close(subscriber);
+			return;
+		}
+		if(!subscriber.sending.compareAndSet(false, true))
+			return;
+		try {
+			sender.execute(() -> drain(subscriber));
+		}
+		catch(RejectedExecutionException e) {
+			subscriber.sending.set(false);
+			close(subscriber);
+		}
+	}
+
+	// Uma tarefa por assinante por vez: a ordem dos quadros é a da fila
+	private void drain(Subscriber subscriber) {
+		do {
+			Set<DataWithMediaType> frame;
+			while(!subscriber.closed && (frame = subscriber.queue.poll()) != null) {
+				// Falha de escrita = cliente desconectou
+				try {
+					subscriber.emitter.send(frame);
+				}
+				catch(IOException | IllegalStateException e) {
+					subscriber.closed = true;
+					subscribers.remove(subscriber);
+					subscriber.emitter.completeWithError(e);
+					return;
+				}
+			}
+			if(subscriber.closed) {
+				subscriber.emitter.complete();
+				return;
+			}
+			subscriber.sending.set(false);
+			// Um quadro (ou o descarte) pode ter chegado entre o último poll e a liberação
+		} while((subscriber.closed || !subscriber.queue.isEmpty()) && subscriber.sending.compareAndSet(false, true));
+	}
+
+	// Com envio em andamento, quem está escrevendo encerra o emitter ao terminar; o descarte nunca
+	// espera a escrita bloqueada de outra thread
+	private void close(Subscriber subscriber) {
+		subscribers.remove(subscriber);
+		subscriber.closed = true;
+		subscriber.queue.clear();
+		if(subscriber.sending.compareAndSet(false, true))
+			subscriber.emitter.complete();
+	}
+
+	private static class Subscriber {
+
+		final SseEmitter emitter;
+		final BlockingQueue<Set<DataWithMediaType>> queue;
+		final AtomicBoolean sending = new AtomicBoolean();
+		volatile boolean closed;
+
+		Subscriber(SseEmitter emitter, int capacity) {
+			this.emitter = emitter;
+			this.queue = new LinkedBlockingQueue<>(capacity);
+		}
+	}
+}
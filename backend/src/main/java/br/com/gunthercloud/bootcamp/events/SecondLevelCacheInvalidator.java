@@ -0,0 +1,49 @@
+package br.com.gunthercloud.bootcamp.events;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import br.com.gunthercloud.bootcamp.entitites.Category;
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+import br.com.gunthercloud.bootcamp.entitites.Product;
+import jakarta.persistence.EntityManagerFactory;
+
+// Mantém o segundo nível do Hibernate coerente entre nós: o nó que fez a escrita já atualizou
+// o próprio cache; nos demais a entrada é removida e recarregada do banco na próxima leitura
+@Component
+public class SecondLevelCacheInvalidator implements ChangeEventListener {
+
+	private static final String PRODUCT_CATEGORIES = Product.class.getName() + ".categories";
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Override
+	public void onChange(ChangeEvent event) {
+		Cache cache = cache();
+		switch(event.getType()) {
+			case PRODUCT -> cache.evictCollectionData(PRODUCT_CATEGORIES, event.getEntityId());
+			case CATEGORY -> {
+				cache.evictEntityData(Category.class, event.getEntityId());
+				cache.evictQueryRegion("query.category");
+				// Categoria removida some das coleções dos produtos
+				if(event.getOperation() == ChangeEvent.Operation.DELETE)
+					cache.evictCollectionData(PRODUCT_CATEGORIES);
+			}
+			case USER -> {
+				// Usuários não ficam no segundo nível
+			}
+		}
+	}
+
+	@Override
+	public void onFullFlush() {
+		cache().evictAll();
+	}
+
+	private Cache cache() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+	}
+}
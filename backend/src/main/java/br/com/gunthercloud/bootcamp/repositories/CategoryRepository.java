@@ -1,9 +1,20 @@
 package br.com.gunthercloud.bootcamp.repositories;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import br.com.gunthercloud.bootcamp.entitites.Category;
+import jakarta.persistence.QueryHint;
 
 public interface CategoryRepository extends JpaRepository<Category, Long>{
 
+	// Listagem de categorias no query cache (ids por página); as entidades vêm da região "category"
+	@Override
+	@QueryHints(value = { @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.category") }, forCounting = false)
+	Page<Category> findAll(Pageable pageable);
+
 }
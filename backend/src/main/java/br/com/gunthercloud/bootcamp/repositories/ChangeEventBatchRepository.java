@@ -0,0 +1,51 @@
+package br.com.gunthercloud.bootcamp.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+
+// Inserção em lote no outbox para escritas de várias linhas (ex.: POST /users/bulk):
+// um batch JDBC em vez de um insert (e um round-trip) por evento
+@Repository
+public class ChangeEventBatchRepository {
+
+	private static final String INSERT_EVENT = "INSERT INTO tb_change_event (entity_type, entity_id, operation, created_at) VALUES (?, ?, ?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// Sem @Transactional: quem chama (ChangeEventPublisher) já exige a transação da alteração
+	public void insertAll(List<ChangeEvent> events) {
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_EVENT, new String[] { "id" }), new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement ps, int i) throws SQLException {
+				ChangeEvent e = events.get(i);
+				ps.setString(1, e.getType().name());
+				ps.setLong(2, e.getEntityId());
+				ps.setString(3, e.getOperation().name());
+				ps.setObject(4, e.getCreatedAt().atOffset(ZoneOffset.UTC));
+			}
+
+			@Override
+			public int getBatchSize() {
+				return events.size();
+			}
+		}, keyHolder);
+
+		List<Map<String, Object>> keys = keyHolder.getKeyList();
+		for(int i = 0; i < events.size(); i++)
+			events.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+	}
+}
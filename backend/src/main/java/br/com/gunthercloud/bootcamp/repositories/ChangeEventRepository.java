@@ -0,0 +1,24 @@
+package br.com.gunthercloud.bootcamp.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long>{
+
+	List<ChangeEvent> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+	@Query("SELECT COALESCE(MAX(obj.id), 0) FROM ChangeEvent obj")
+	long findMaxId();
+
+	@Modifying
+	@Query("DELETE FROM ChangeEvent obj WHERE obj.createdAt < :before")
+	int deleteOlderThan(Instant before);
+
+}
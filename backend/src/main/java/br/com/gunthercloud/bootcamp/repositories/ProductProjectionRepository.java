@@ -0,0 +1,100 @@
+package br.com.gunthercloud.bootcamp.repositories;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import br.com.gunthercloud.bootcamp.entitites.Product;
+import br.com.gunthercloud.bootcamp.entitites.dto.CategoryDTO;
+import br.com.gunthercloud.bootcamp.entitites.dto.ProductFieldSet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+// Leitura de produtos só com as colunas pedidas em ?fields= (ver ProductFieldSet).
+// Consulta por tupla, sem entidade: nada entra no contexto de persistência nem no cache L2.
+// As categorias vêm de uma segunda consulta pelos ids da página, só quando pedidas.
+@Repository
+public class ProductProjectionRepository {
+
+	private static final String CATEGORIES = "SELECT p.id, c.id, c.name FROM Product p JOIN p.categories c "
+			+ "WHERE p.id IN :ids ORDER BY c.id";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public Page<Map<String, Object>> findAll(ProductFieldSet fields, Pageable pageable) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Product> root = query.from(Product.class);
+		query.multiselect(selection(fields, root));
+		query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+		TypedQuery<Tuple> typed = entityManager.createQuery(query);
+		if(pageable.isPaged()) {
+			typed.setFirstResult((int) pageable.getOffset());
+			typed.setMaxResults(pageable.getPageSize());
+		}
+		List<Map<String, Object>> rows = toRows(fields, typed.getResultList());
+		// Página incompleta já diz o total: o count só roda quando necessário
+		return PageableExecutionUtils.getPage(rows, pageable, this::count);
+	}
+
+	public Optional<Map<String, Object>> findById(ProductFieldSet fields, Long id) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Product> root = query.from(Product.class);
+		query.multiselect(selection(fields, root));
+		query.where(cb.equal(root.get("id"), id));
+
+		List<Map<String, Object>> rows = toRows(fields, entityManager.createQuery(query).getResultList());
+		return rows.stream().findFirst();
+	}
+
+	private long count() {
+		return entityManager.createQuery("SELECT COUNT(p) FROM Product p", Long.class).getSingleResult();
+	}
+
+	private List<Selection<?>> selection(ProductFieldSet fields, Root<Product> root) {
+		List<Selection<?>> selection = new ArrayList<>();
+		for(String c : fields.selectedColumns())
+			selection.add(root.get(c).alias(c));
+		return selection;
+	}
+
+	private List<Map<String, Object>> toRows(ProductFieldSet fields, List<Tuple> tuples) {
+		List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+		Map<Long, List<CategoryDTO>> categories = new LinkedHashMap<>();
+		for(Tuple t : tuples) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			for(String c : fields.columns())
+				row.put(c, t.get(c));
+			if(fields.categories()) {
+				List<CategoryDTO> list = new ArrayList<>();
+				categories.put(t.get("id", Long.class), list);
+				row.put(ProductFieldSet.CATEGORIES, list);
+			}
+			rows.add(row);
+		}
+		if(!categories.isEmpty()) {
+			List<Object[]> result = entityManager.createQuery(CATEGORIES, Object[].class)
+					.setParameter("ids", categories.keySet()).getResultList();
+			for(Object[] r : result)
+				categories.get((Long) r[0]).add(new CategoryDTO((Long) r[1], (String) r[2]));
+		}
+		return rows;
+	}
+}
@@ -1,9 +1,15 @@
 package br.com.gunthercloud.bootcamp.repositories;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import br.com.gunthercloud.bootcamp.entitites.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Long>{
 
+	// Lista sem o count da página (o total é calculado uma vez só por quem chama)
+	List<Product> findAllBy(Pageable pageable);
+
 }
@@ -0,0 +1,63 @@
+package br.com.gunthercloud.bootcamp.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.gunthercloud.bootcamp.entitites.Role;
+import br.com.gunthercloud.bootcamp.entitites.User;
+
+// Inserção em lote via JDBC para a carga em massa de usuários (POST /users/bulk)
+@Repository
+public class UserBatchRepository {
+
+	private static final String INSERT_USER = "INSERT INTO tb_user (first_name, last_name, email, password) VALUES (?, ?, ?, ?)";
+	private static final String INSERT_USER_ROLE = "INSERT INTO tb_user_role (user_id, role_id) VALUES (?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Transactional
+	public void insertAll(List<User> users) {
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_USER, new String[] { "id" }), new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement ps, int i) throws SQLException {
+				User u = users.get(i);
+				ps.setString(1, u.getFirstName());
+				ps.setString(2, u.getLastName());
+				ps.setString(3, u.getEmail());
+				ps.setString(4, u.getPassword());
+			}
+
+			@Override
+			public int getBatchSize() {
+				return users.size();
+			}
+		}, keyHolder);
+
+		List<Map<String, Object>> keys = keyHolder.getKeyList();
+		List<Long[]> userRoles = new ArrayList<>();
+		for(int i = 0; i < users.size(); i++) {
+			User u = users.get(i);
+			u.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+			for(Role r : u.getRoles())
+				userRoles.add(new Long[] { u.getId(), r.getId() });
+		}
+
+		jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles, userRoles.size(), (ps, x) -> {
+			ps.setLong(1, x[0]);
+			ps.setLong(2, x[1]);
+		});
+	}
+}
@@ -1,11 +1,30 @@
 package br.com.gunthercloud.bootcamp.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import br.com.gunthercloud.bootcamp.entitites.User;
 
 public interface UserRepository extends JpaRepository<User, Long>{
 	
+	// email_lower é coluna gerada e indexada (migration V3); evita varrer a tabela com LOWER(email)
+	@Query(value = "SELECT * FROM tb_user WHERE email_lower = LOWER(:email)", nativeQuery = true)
 	User findByEmail(String email);
 
+	@EntityGraph(attributePaths = "roles")
+	Optional<User> findWithRolesById(Long id);
+
+	// Carrega os roles de uma página inteira de usuários em uma única consulta
+	@Query("SELECT DISTINCT obj FROM User obj LEFT JOIN FETCH obj.roles WHERE obj IN :users")
+	List<User> findUsersWithRoles(List<User> users);
+
+	// Recebe e devolve e-mails em minúsculas: mesma regra do índice único uk_user_email_lower
+	@Query(value = "SELECT email_lower FROM tb_user WHERE email_lower IN (:emails)", nativeQuery = true)
+	List<String> findExistingEmails(Collection<String> emails);
+
 }
@@ -18,6 +18,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import br.com.gunthercloud.bootcamp.entitites.dto.CategoryDTO;
+import br.com.gunthercloud.bootcamp.entitites.dto.PageDTO;
 import br.com.gunthercloud.bootcamp.services.CategoryService;
 
 @RestController
@@ -28,9 +29,9 @@ public class CategoryResource {
 	private CategoryService categoryService;
 	
 	@GetMapping
-	public ResponseEntity<Page<CategoryDTO>> findAll(Pageable pageable) {
+	public ResponseEntity<PageDTO<CategoryDTO>> findAll(Pageable pageable) {
 		Page<CategoryDTO> list = categoryService.findAllPaged(pageable);
-		return ResponseEntity.ok().body(list);
+		return ResponseEntity.ok().body(new PageDTO<>(list));
 	}
 	
 	@GetMapping(value = "/{id}")
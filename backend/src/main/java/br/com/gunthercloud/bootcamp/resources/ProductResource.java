@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,11 +14,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import br.com.gunthercloud.bootcamp.entitites.dto.PageDTO;
 import br.com.gunthercloud.bootcamp.entitites.dto.ProductDTO;
+import br.com.gunthercloud.bootcamp.entitites.dto.ProductFieldSet;
+import br.com.gunthercloud.bootcamp.events.ProductChangeStream;
 import br.com.gunthercloud.bootcamp.services.ProductService;
 import jakarta.validation.Valid;
 
@@ -28,14 +35,26 @@ public class ProductResource {
 	@Autowired
 	private ProductService productService;
 	
+	@Autowired
+	private ProductChangeStream productChangeStream;
+	
 	@GetMapping
-	public ResponseEntity<Page<ProductDTO>> findAll(Pageable pageable) {
+	public ResponseEntity<PageDTO<?>> findAll(Pageable pageable, @RequestParam(required = false) String fields) {
+		if(fields != null)
+			return ResponseEntity.ok().body(new PageDTO<>(productService.findAllPaged(pageable, ProductFieldSet.parse(fields))));
 		Page<ProductDTO> list = productService.findAllPaged(pageable);
-		return ResponseEntity.ok().body(list);
+		return ResponseEntity.ok().body(new PageDTO<>(list));
+	}
+	
+	@GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter changes(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+		return productChangeStream.subscribe(lastEventId);
 	}
 	
 	@GetMapping(value = "/{id}")
-	public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
+	public ResponseEntity<?> findById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+		if(fields != null)
+			return ResponseEntity.ok().body(productService.findById(id, ProductFieldSet.parse(fields)));
 		return ResponseEntity.ok().body(productService.findById(id));
 	}
 	
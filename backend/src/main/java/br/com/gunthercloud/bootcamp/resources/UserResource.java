@@ -1,6 +1,7 @@
 package br.com.gunthercloud.bootcamp.resources;
 
 import java.net.URI;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -17,6 +18,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import br.com.gunthercloud.bootcamp.entitites.dto.PageDTO;
+import br.com.gunthercloud.bootcamp.entitites.dto.UserBulkItemDTO;
 import br.com.gunthercloud.bootcamp.entitites.dto.UserDTO;
 import br.com.gunthercloud.bootcamp.entitites.dto.UserInsertDTO;
 import br.com.gunthercloud.bootcamp.entitites.dto.UserUpdateDTO;
@@ -31,9 +34,9 @@ public class UserResource {
 	private UserService userService;
 	
 	@GetMapping
-	public ResponseEntity<Page<UserDTO>> findAll(Pageable pageable) {
+	public ResponseEntity<PageDTO<UserDTO>> findAll(Pageable pageable) {
 		Page<UserDTO> list = userService.findAllPaged(pageable);
-		return ResponseEntity.ok().body(list);
+		return ResponseEntity.ok().body(new PageDTO<>(list));
 	}
 	
 	@GetMapping(value = "/{id}")
@@ -48,6 +51,12 @@ public class UserResource {
 		return ResponseEntity.created(uri).body(cat);
 	}
 	
+	@PostMapping(value = "/bulk")
+	public ResponseEntity<List<UserBulkItemDTO>> insertBulk(@RequestBody List<UserInsertDTO> list) {
+		List<UserBulkItemDTO> result = userService.insertBulk(list);
+		return ResponseEntity.ok().body(result);
+	}
+	
 	@PutMapping(value = "/{id}")
 	public ResponseEntity<UserDTO> alterar(@PathVariable Long id, @Valid @RequestBody UserUpdateDTO obj) {
 		UserDTO newDto = userService.update(id, obj);
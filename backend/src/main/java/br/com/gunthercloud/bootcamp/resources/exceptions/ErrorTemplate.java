@@ -0,0 +1,21 @@
+package br.com.gunthercloud.bootcamp.resources.exceptions;
+
+import java.time.Instant;
+
+import org.springframework.http.HttpStatus;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Status e título de cada resposta de erro, montados uma vez no ResourceExceptionHandler;
+// por requisição só entram mensagem, hora e caminho
+record ErrorTemplate(HttpStatus status, String error) {
+
+	<T extends StandardError> T fill(T err, String message, HttpServletRequest request) {
+		err.setTimestamp(Instant.now());
+		err.setStatus(status.value());
+		err.setError(error);
+		err.setMessage(message);
+		err.setPath(request.getRequestURI());
+		return err;
+	}
+}
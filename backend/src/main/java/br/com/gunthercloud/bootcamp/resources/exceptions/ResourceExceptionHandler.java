@@ -1,57 +1,99 @@
 package br.com.gunthercloud.bootcamp.resources.exceptions;
 
-import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.HandlerMapping;
 
 import br.com.gunthercloud.bootcamp.services.exceptions.DatabaseException;
+import br.com.gunthercloud.bootcamp.services.exceptions.FieldValidationException;
 import br.com.gunthercloud.bootcamp.services.exceptions.ResourceNotFoundException;
+import br.com.gunthercloud.bootcamp.services.exceptions.ServiceUnavailableException;
+import br.com.gunthercloud.bootcamp.services.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 
 @ControllerAdvice
 public class ResourceExceptionHandler {
 
+	private static final ErrorTemplate NOT_FOUND = new ErrorTemplate(HttpStatus.NOT_FOUND, "Resource Not Found");
+	private static final ErrorTemplate DATABASE = new ErrorTemplate(HttpStatus.BAD_REQUEST, "Database error");
+	private static final ErrorTemplate TOO_MANY_REQUESTS = new ErrorTemplate(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests");
+	private static final ErrorTemplate SERVICE_UNAVAILABLE = new ErrorTemplate(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable");
+	private static final ErrorTemplate VALIDATION = new ErrorTemplate(HttpStatus.UNPROCESSABLE_ENTITY, "Validation Exception");
+
+	// ObjectProvider: nos testes de fatia (@WebMvcTest) não há MeterRegistry
+	@Autowired
+	private ObjectProvider<MeterRegistry> registry;
+
+	// Um contador por exceção/método/rota; evita montar o Meter.Id a cada erro
+	private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+
+	private record CounterKey(Class<?> exception, String method, String uri) {
+	}
+
 	@ExceptionHandler(ResourceNotFoundException.class)
 	public ResponseEntity<StandardError> findById(ResourceNotFoundException e, HttpServletRequest request) {
-		StandardError err = new StandardError();
-		err.setTimestamp(Instant.now());
-		err.setStatus(HttpStatus.NOT_FOUND.value());
-		err.setError("Resource Not Found");
-		err.setMessage(e.getMessage());
-		err.setPath(request.getRequestURI());
-		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(err);
+		count(e, request);
+		return ResponseEntity.status(NOT_FOUND.status()).body(NOT_FOUND.fill(new StandardError(), e.getMessage(), request));
 	}
 
 	@ExceptionHandler(DatabaseException.class)
 	public ResponseEntity<StandardError> database(DatabaseException e, HttpServletRequest request) {
-		StandardError standard = new StandardError();
-		standard.setTimestamp(Instant.now());
-		standard.setStatus(HttpStatus.BAD_REQUEST.value());
-		standard.setError("Database error");
-		standard.setPath(request.getRequestURI());
-		standard.setMessage(e.getMessage());
-		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(standard);
+		count(e, request);
+		return ResponseEntity.status(DATABASE.status()).body(DATABASE.fill(new StandardError(), e.getMessage(), request));
+	}
+	
+	@ExceptionHandler(TooManyRequestsException.class)
+	public ResponseEntity<StandardError> tooManyRequests(TooManyRequestsException e, HttpServletRequest request) {
+		return ResponseEntity.status(TOO_MANY_REQUESTS.status())
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+				.body(TOO_MANY_REQUESTS.fill(new StandardError(), e.getMessage(), request));
+	}
+	
+	@ExceptionHandler(ServiceUnavailableException.class)
+	public ResponseEntity<StandardError> serviceUnavailable(ServiceUnavailableException e, HttpServletRequest request) {
+		return ResponseEntity.status(SERVICE_UNAVAILABLE.status())
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+				.body(SERVICE_UNAVAILABLE.fill(new StandardError(), e.getMessage(), request));
 	}
 	
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	public ResponseEntity<ValidationError> validation(MethodArgumentNotValidException e, HttpServletRequest request) {
-		HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
-		ValidationError err = new ValidationError();
-		err.setTimestamp(Instant.now());
-		err.setStatus(status.value());
-		err.setError("Validation Exception");
-		err.setMessage(e.getLocalizedMessage());
-		err.setPath(request.getRequestURI());		
-		
+		ValidationError err = VALIDATION.fill(new ValidationError(), e.getLocalizedMessage(), request);
 		for(FieldError f : e.getBindingResult().getFieldErrors()) {
-			err.addError(f.getField(), f.getDefaultMessage());;
+			err.addError(f.getField(), f.getDefaultMessage());
 		}
-
-		return ResponseEntity.status(status).body(err);
+		return ResponseEntity.status(VALIDATION.status()).body(err);
+	}
+	
+	@ExceptionHandler(FieldValidationException.class)
+	public ResponseEntity<ValidationError> fieldValidation(FieldValidationException e, HttpServletRequest request) {
+		ValidationError err = VALIDATION.fill(new ValidationError(), e.getMessage(), request);
+		err.addError(e.getFieldName(), e.getMessage());
+		return ResponseEntity.status(VALIDATION.status()).body(err);
+	}
+	
+	// Usa o padrão da rota (/products/{id}) e não a URI, para não explodir a cardinalidade
+	private void count(RuntimeException e, HttpServletRequest request) {
+		MeterRegistry r = registry.getIfAvailable();
+		if(r == null)
+			return;
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		CounterKey key = new CounterKey(e.getClass(), request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN");
+		counters.computeIfAbsent(key, k -> r.counter("app.exceptions",
+				"exception", k.exception().getSimpleName(),
+				"method", k.method(),
+				"uri", k.uri())).increment();
 	}
 }
@@ -10,17 +10,24 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import br.com.gunthercloud.bootcamp.entitites.Category;
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
 import br.com.gunthercloud.bootcamp.entitites.dto.CategoryDTO;
+import br.com.gunthercloud.bootcamp.events.ChangeEventPublisher;
 import br.com.gunthercloud.bootcamp.repositories.CategoryRepository;
 import br.com.gunthercloud.bootcamp.services.exceptions.DatabaseException;
 import br.com.gunthercloud.bootcamp.services.exceptions.ResourceNotFoundException;
-import jakarta.persistence.EntityNotFoundException;
 
 @Service
 public class CategoryService {
 
 	@Autowired
 	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private ChangeEventPublisher changeEvents;
+
+	@Autowired
+	private ProductListingCache listingCache;
 	
 	@Transactional(readOnly = true)
 	public Page<CategoryDTO> findAllPaged(Pageable pageable) {
@@ -39,41 +46,38 @@ public class CategoryService {
 		if(obj.getId() != null)
 			obj.setId(null);
 		Category c = categoryRepository.save(new Category(obj));
+		changeEvents.publish(ChangeEvent.Type.CATEGORY, c.getId(), ChangeEvent.Operation.INSERT);
+		listingCache.invalidateAfterCommit();
 		return new CategoryDTO(c);
 	}
 
 	@Transactional
 	public CategoryDTO update(Long id, CategoryDTO obj) {
-		try {			
-			Category c = categoryRepository.getReferenceById(id);
-			c = new Category(obj);
-			if(obj.getId() != null)
-				obj.setId(null);
-			c.setId(id);
-			categoryRepository.save(c);
-			return new CategoryDTO(c);
-		}
-		catch(EntityNotFoundException e) {
+		// Categoria fica no cache L2: a checagem normalmente não vai ao banco
+		if(categoryRepository.findById(id).isEmpty())
 			throw new ResourceNotFoundException("Id " + id + " not found!");
-		}
-		catch(RuntimeException e) {
-			throw new ResourceNotFoundException(e.getMessage());
-		}
-		
+		Category c = new Category(obj);
+		c.setId(id);
+		categoryRepository.save(c);
+		changeEvents.publish(ChangeEvent.Type.CATEGORY, id, ChangeEvent.Operation.UPDATE);
+		listingCache.invalidateAfterCommit();
+		return new CategoryDTO(c);
 	}
 
+	// Transacional por causa do evento no outbox; o flush traz o erro de integridade para dentro do try
+	@Transactional
 	public void delete(Long id) {
+		if(categoryRepository.findById(id).isEmpty())
+			throw new ResourceNotFoundException("Id " + id + " not found!");
 		try {
-			if(categoryRepository.findById(id).isEmpty())
-				throw new ResourceNotFoundException("Id " + id + " not found!");
 			categoryRepository.deleteById(id);
+			changeEvents.publish(ChangeEvent.Type.CATEGORY, id, ChangeEvent.Operation.DELETE);
+			listingCache.invalidateAfterCommit();
+			categoryRepository.flush();
 		}
 		catch(DataIntegrityViolationException  e) {
 			throw new DatabaseException("Category delete error.");
 		}
-		catch(ResourceNotFoundException  e) {
-			throw new ResourceNotFoundException(e.getMessage());
-		}
 		catch(RuntimeException  e) {
 			throw new DatabaseException(e.getMessage());
 		}
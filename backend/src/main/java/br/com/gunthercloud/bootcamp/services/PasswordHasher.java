@@ -0,0 +1,168 @@
+package br.com.gunthercloud.bootcamp.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import br.com.gunthercloud.bootcamp.config.PasswordHashEvent;
+import br.com.gunthercloud.bootcamp.services.exceptions.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+
+// Executa o BCrypt em um pool limitado ao número de núcleos, fora da thread do Tomcat
+// e fora da transação. Fila cheia = 429 com Retry-After.
+@Component
+public class PasswordHasher {
+
+	private final BCryptPasswordEncoder passwordEncoder;
+	private final ThreadPoolExecutor executor;
+	private final Semaphore bulkPermit = new Semaphore(1);
+	private final Semaphore singleSlots;
+	private final Semaphore bulkSlots;
+	private final long timeoutMillis;
+	private final long retryAfterSeconds;
+
+	public PasswordHasher(BCryptPasswordEncoder passwordEncoder,
+			@Value("${app.security.hash.threads:0}") int threads,
+			@Value("${app.security.hash.queue-capacity:64}") int queueCapacity,
+			@Value("${app.security.hash.timeout-ms:5000}") long timeoutMillis,
+			@Value("${app.security.hash.retry-after-seconds:1}") long retryAfterSeconds) {
+		int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		this.passwordEncoder = passwordEncoder;
+		// Avulsos ocupam até threads + queue-capacity; a carga em massa tem "threads" lugares só dela
+		// além disso, então a fila do executor nunca recusa quem já tem vaga
+		this.singleSlots = new Semaphore(size + queueCapacity);
+		this.bulkSlots = new Semaphore(size);
+		this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity + size), new CustomizableThreadFactory("password-hash-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.timeoutMillis = timeoutMillis;
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	// Sem vaga = 429 na hora: o Tomcat não fica esperando o BCrypt
+	public String encode(String rawPassword) {
+		if(!singleSlots.tryAcquire())
+			throw new TooManyRequestsException("Too many password hashing requests", retryAfterSeconds);
+		return await(submit(singleSlots, () -> hash(rawPassword)));
+	}
+
+	// Carga em massa no mesmo pool limitado: uma carga por vez (as outras esperam até timeout-ms e
+	// recebem 429) e no máximo "threads" hashes dela no pool, sem tirar lugar dos cadastros avulsos.
+	// Sem vaga livre, espera até timeout-ms que um hash dela termine
+	public List<String> encodeAll(List<String> rawPasswords) {
+		if(rawPasswords.isEmpty())
+			return List.of();
+		acquire(bulkPermit, "Too many bulk password hashing requests");
+		List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+		try {
+			PasswordHashEvent event = new PasswordHashEvent();
+			event.begin();
+			// A vaga de cada hash volta quando ele termina: esperar por ela não depende de quem está esperando
+			for(String raw : rawPasswords) {
+				acquire(bulkSlots, "Too many password hashing requests");
+				futures.add(submit(bulkSlots, () -> passwordEncoder.encode(raw)));
+			}
+			List<String> hashes = new ArrayList<>(rawPasswords.size());
+			for(Future<String> future : futures)
+				hashes.add(await(future));
+			event.end();
+			if(event.shouldCommit()) {
+				event.count = rawPasswords.size();
+				event.bulk = true;
+				event.commit();
+			}
+			return hashes;
+		}
+		finally {
+			futures.forEach(x -> x.cancel(false));
+			bulkPermit.release();
+		}
+	}
+
+	private void acquire(Semaphore semaphore, String message) {
+		try {
+			if(!semaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS))
+				throw new TooManyRequestsException(message, retryAfterSeconds);
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while hashing passwords", e);
+		}
+	}
+
+	// A vaga volta quando a tarefa termina ou é cancelada (done() cobre os dois casos); cancelada ainda
+	// na fila, sai dela junto com a vaga
+	private Future<String> submit(Semaphore slots, Callable<String> task) {
+		FutureTask<String> future = new FutureTask<>(task) {
+			@Override
+			protected void done() {
+				if(isCancelled())
+					executor.remove(this);
+				slots.release();
+			}
+		};
+		try {
+			executor.execute(future);
+		}
+		catch(RejectedExecutionException e) {
+			slots.release();
+			throw new TooManyRequestsException("Too many password hashing requests", retryAfterSeconds);
+		}
+		return future;
+	}
+
+	// O BCrypt não responde a interrupção: um hash que já começou ocupa a thread até o fim.
+	// O timeout só libera quem chamou; o cancel apenas tira da fila o que ainda não começou.
+	// A capacidade continua limitada pelas vagas (singleSlots/bulkSlots), não pelo timeout.
+	private String await(Future<String> future) {
+		try {
+			return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+		}
+		catch(TimeoutException e) {
+			future.cancel(false);
+			throw new TooManyRequestsException("Password hashing timed out", retryAfterSeconds);
+		}
+		catch(InterruptedException e) {
+			future.cancel(false);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while hashing password", e);
+		}
+		catch(ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException r)
+				throw r;
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private String hash(String rawPassword) {
+		PasswordHashEvent event = new PasswordHashEvent();
+		event.begin();
+		String hash = passwordEncoder.encode(rawPassword);
+		event.end();
+		if(event.shouldCommit()) {
+			event.count = 1;
+			event.queued = executor.getQueue().size();
+			event.commit();
+		}
+		return hash;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,240 @@
+package br.com.gunthercloud.bootcamp.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gunthercloud.bootcamp.config.ReplicaDataSource;
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+import br.com.gunthercloud.bootcamp.entitites.Product;
+import br.com.gunthercloud.bootcamp.entitites.dto.ProductDTO;
+import br.com.gunthercloud.bootcamp.events.ChangeEventListener;
+import br.com.gunthercloud.bootcamp.repositories.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Primeiras páginas das listagens mais pedidas (pages x page-sizes x sorts), já montadas com o total.
+// Alteração de produto ou categoria marca o snapshot como sujo e agenda uma reconstrução após
+// debounce-ms (rajadas de escrita viram uma reconstrução só). Enquanto suja, a página continua
+// sendo servida por até max-staleness-ms; passou disso, a leitura cai no caminho normal.
+// No nó que escreveu, a sujeira conta do commit (invalidateAfterCommit); nos outros, da entrega pelo
+// barramento, que no polling chega até poll-interval-ms + gap-grace-ms depois.
+@Component
+public class ProductListingCache implements ChangeEventListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProductListingCache.class);
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	// ObjectProvider: nos testes de fatia não há MeterRegistry
+	@Autowired
+	private ObjectProvider<MeterRegistry> registry;
+
+	@Value("${app.products.listing.enabled:true}")
+	private boolean enabled;
+
+	@Value("${app.products.listing.pages:3}")
+	private int pages;
+
+	@Value("${app.products.listing.page-sizes:12,20}")
+	private List<Integer> pageSizes;
+
+	@Value("${app.products.listing.sorts:name,price,date}")
+	private List<String> sorts;
+
+	@Value("${app.products.listing.debounce-ms:200}")
+	private long debounceMillis;
+
+	@Value("${app.products.listing.max-staleness-ms:2000}")
+	private long maxStalenessMillis;
+
+	// hit/stale: evita o lookup no registry a cada leitura, que é o caminho mais quente
+	private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+	private final ScheduledExecutorService executor = Executors
+			.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("product-listing-"));
+
+	// Trocado por inteiro a cada reconstrução; o mapa e as páginas nunca são alterados depois de publicados
+	private volatile Map<Pageable, Page<ProductDTO>> snapshot = Map.of();
+
+	private long generation;
+	private long dirtySince;
+	private boolean scheduled;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if(enabled)
+			invalidate();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	// null = não materializada (ou velha demais): o chamador segue para o banco
+	public Page<ProductDTO> get(Pageable pageable) {
+		Page<ProductDTO> page = snapshot.get(ProductService.withIdTieBreaker(pageable));
+		if(page == null)
+			return null;
+		if(isTooStale()) {
+			count("stale");
+			return null;
+		}
+		count("hit");
+		return page;
+	}
+
+	public boolean isMaterialized(Pageable pageable) {
+		return snapshot.containsKey(ProductService.withIdTieBreaker(pageable));
+	}
+
+	@Override
+	public void onChange(ChangeEvent event) {
+		if(event.getType() == ChangeEvent.Type.PRODUCT || event.getType() == ChangeEvent.Type.CATEGORY)
+			invalidate();
+	}
+
+	@Override
+	public void onFullFlush() {
+		invalidate();
+	}
+
+	// Chamado por quem escreve produto ou categoria: não espera o barramento
+	public void invalidateAfterCommit() {
+		if(!enabled)
+			return;
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			invalidate();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				invalidate();
+			}
+		});
+	}
+
+	synchronized void invalidate() {
+		if(!enabled)
+			return;
+		generation++;
+		if(dirtySince == 0)
+			dirtySince = System.nanoTime();
+		if(!scheduled) {
+			scheduled = true;
+			executor.schedule(this::rebuildSafely, debounceMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private synchronized boolean isTooStale() {
+		return dirtySince != 0 && System.nanoTime() - dirtySince > TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis);
+	}
+
+	private void rebuildSafely() {
+		long built;
+		long start = System.nanoTime();
+		synchronized(this) {
+			scheduled = false;
+			built = generation;
+		}
+		try {
+			snapshot = build();
+		}
+		catch(RuntimeException e) {
+			logger.warn("Failed to rebuild product listing pages", e);
+			synchronized(this) {
+				if(!scheduled) {
+					scheduled = true;
+					executor.schedule(this::rebuildSafely, Math.max(debounceMillis, 1000), TimeUnit.MILLISECONDS);
+				}
+			}
+			return;
+		}
+		synchronized(this) {
+			// Alteração durante a reconstrução pode não estar no snapshot: continua suja desde o início dela
+			if(generation == built)
+				dirtySince = 0;
+			else
+				dirtySince = start;
+		}
+	}
+
+	// Lê do primário: numa réplica atrasada o snapshot recém-invalidado voltaria igual ao antigo
+	Map<Pageable, Page<ProductDTO>> build() {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(true);
+		ReplicaDataSource.forcePrimary(true);
+		try {
+			return template.execute(x -> {
+				long total = productRepository.count();
+				Map<Pageable, Page<ProductDTO>> pages = new HashMap<>();
+				for(Pageable pageable : hotPageables()) {
+					List<ProductDTO> content = new ArrayList<>();
+					for(Product p : productRepository.findAllBy(pageable))
+						content.add(new ProductDTO(p, new HashSet<>(p.getCategories())));
+					pages.put(pageable, new PageImpl<>(List.copyOf(content), pageable, total));
+				}
+				return Map.copyOf(pages);
+			});
+		}
+		finally {
+			ReplicaDataSource.forcePrimary(false);
+		}
+	}
+
+	// "price" = crescente; "price:desc" = decrescente. Sem ordenação também entra: GET /products
+	// puro chega como PageRequest.of(0, 20) sem sort (padrão do PageableHandlerMethodArgumentResolver).
+	// As chaves levam o mesmo desempate por id que o ProductService aplica às consultas.
+	List<Pageable> hotPageables() {
+		List<Pageable> list = new ArrayList<>();
+		for(int size : pageSizes) {
+			for(int page = 0; page < pages; page++)
+				list.add(ProductService.withIdTieBreaker(PageRequest.of(page, size)));
+		}
+		for(String sort : sorts) {
+			String[] parts = sort.trim().split(":");
+			Sort.Direction direction = parts.length > 1 ? Sort.Direction.fromString(parts[1]) : Sort.Direction.ASC;
+			for(int size : pageSizes) {
+				for(int page = 0; page < pages; page++)
+					list.add(ProductService.withIdTieBreaker(PageRequest.of(page, size, Sort.by(direction, parts[0]))));
+			}
+		}
+		return list;
+	}
+
+	private void count(String result) {
+		registry.ifAvailable(r -> counters.computeIfAbsent(result, x -> r.counter("app.products.listing", "result", x)).increment());
+	}
+}
@@ -1,24 +1,38 @@
 package br.com.gunthercloud.bootcamp.services;
 
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gunthercloud.bootcamp.config.ReplicaDataSource;
 
 import br.com.gunthercloud.bootcamp.entitites.Category;
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
 import br.com.gunthercloud.bootcamp.entitites.Product;
-import br.com.gunthercloud.bootcamp.entitites.dto.CategoryDTO;
 import br.com.gunthercloud.bootcamp.entitites.dto.ProductDTO;
+import br.com.gunthercloud.bootcamp.entitites.dto.ProductFieldSet;
+import br.com.gunthercloud.bootcamp.events.ChangeEventPublisher;
 import br.com.gunthercloud.bootcamp.repositories.CategoryRepository;
+import br.com.gunthercloud.bootcamp.repositories.ProductProjectionRepository;
 import br.com.gunthercloud.bootcamp.repositories.ProductRepository;
 import br.com.gunthercloud.bootcamp.services.exceptions.DatabaseException;
 import br.com.gunthercloud.bootcamp.services.exceptions.ResourceNotFoundException;
-import jakarta.persistence.EntityNotFoundException;
 
 @Service
 public class ProductService {
@@ -26,24 +40,103 @@ public class ProductService {
 	@Autowired
 	private ProductRepository productRepository;
 
+	@Autowired
+	private ProductProjectionRepository projectionRepository;
+
 	@Autowired
 	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private ChangeEventPublisher changeEvents;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ProductListingCache listingCache;
+
+	@Value("${app.products.coalesce.timeout-ms:2000}")
+	private long coalesceTimeoutMillis;
+
+	// Leituras idênticas simultâneas (ex.: logo após uma invalidação) compartilham uma ida ao banco.
+	// A chave inclui o read-your-writes: quem precisa ler do primário não herda leitura da réplica.
+	private final SingleFlight<Flight, Page<ProductDTO>> pageFlights = new SingleFlight<>();
+	private final SingleFlight<Flight, ProductDTO> byIdFlights = new SingleFlight<>();
+	private final SingleFlight<Flight, Page<Map<String, Object>>> projectedPageFlights = new SingleFlight<>();
+	private final SingleFlight<Flight, Map<String, Object>> projectedByIdFlights = new SingleFlight<>();
+
+	private record Flight(Object key, boolean primary) {
+	}
 	
-	@Transactional(readOnly = true)
-	public Page<ProductDTO> findAllPaged(Pageable pageable) {
-		Page<Product> list = productRepository.findAll(pageable);
-		return list.map(x -> {
-			return new ProductDTO(x, new HashSet<>(x.getCategories()));
+	public Page<ProductDTO> findAllPaged(Pageable requested) {
+		Pageable pageable = withIdTieBreaker(requested);
+		Page<ProductDTO> page = materialized(pageable);
+		if(page != null)
+			return page;
+		return coalesce(pageFlights, pageable, () -> {
+			Page<Product> list = productRepository.findAll(pageable);
+			return list.map(x -> {
+				return new ProductDTO(x, new HashSet<>(x.getCategories()));
+			});
 		});
 	}
 
-	@Transactional(readOnly = true)
 	public ProductDTO findById(Long id) {
-		Optional<Product> obj = productRepository.findById(id);
-		/* Product o = obj.orElseThrow(() -> new ResourceNotFoundException("teste")); return new ProductDTO(o, o.getCategories()); */
-		return obj.map(x -> {
-			return new ProductDTO(x, x.getCategories());
-		}).orElseThrow(() -> new ResourceNotFoundException("Id " + id + " not found!"));
+		return coalesce(byIdFlights, id, () -> {
+			Optional<Product> obj = productRepository.findById(id);
+			/* Product o = obj.orElseThrow(() -> new ResourceNotFoundException("teste")); return new ProductDTO(o, o.getCategories()); */
+			return obj.map(x -> {
+				return new ProductDTO(x, x.getCategories());
+			}).orElseThrow(() -> new ResourceNotFoundException("Id " + id + " not found!"));
+		});
+	}
+
+	// ?fields=: só as colunas pedidas vão ao SELECT; página quente já montada é projetada em memória
+	public Page<Map<String, Object>> findAllPaged(Pageable requested, ProductFieldSet fields) {
+		Pageable pageable = withIdTieBreaker(requested);
+		Page<ProductDTO> page = materialized(pageable);
+		if(page != null)
+			return page.map(fields::project);
+		return coalesce(projectedPageFlights, List.of(pageable, fields),
+				() -> projectionRepository.findAll(fields, pageable));
+	}
+
+	public Map<String, Object> findById(Long id, ProductFieldSet fields) {
+		return coalesce(projectedByIdFlights, List.of(id, fields), () -> projectionRepository.findById(fields, id)
+				.orElseThrow(() -> new ResourceNotFoundException("Id " + id + " not found!")));
+	}
+
+	// Desempate por id na direção da última ordenação: os índices (name|price|date, id) continuam servindo
+	// a ordenação e produtos com o mesmo nome ou preço não se repetem nem somem entre páginas
+	static Pageable withIdTieBreaker(Pageable pageable) {
+		if(pageable.isUnpaged() || pageable.getSort().getOrderFor("id") != null)
+			return pageable;
+		Sort.Direction direction = Sort.Direction.ASC;
+		for(Sort.Order order : pageable.getSort())
+			direction = order.getDirection();
+		return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().and(Sort.by(direction, "id")));
+	}
+
+	// Página quente já montada; quem acabou de escrever (read-your-writes) ou está em transação vai ao banco
+	private Page<ProductDTO> materialized(Pageable pageable) {
+		if(ReplicaDataSource.isPrimaryForced() || TransactionSynchronizationManager.isActualTransactionActive())
+			return null;
+		return listingCache.get(pageable);
+	}
+
+	// A transação fica dentro da coalescência: quem espera não segura conexão do pool.
+	// Dentro de uma transação já aberta a leitura enxerga alterações não confirmadas: não é compartilhada.
+	private <T> T coalesce(SingleFlight<Flight, T> flights, Object key, Supplier<T> loader) {
+		Supplier<T> load = () -> readOnly().execute(x -> loader.get());
+		if(TransactionSynchronizationManager.isActualTransactionActive())
+			return load.get();
+		return flights.execute(new Flight(key, ReplicaDataSource.isPrimaryForced()), coalesceTimeoutMillis, load);
+	}
+
+	private TransactionTemplate readOnly() {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(true);
+		return template;
 	}
 
 	@Transactional
@@ -53,34 +146,34 @@ public class ProductService {
 		Product entity = new Product();
 		copyDtoToEntity(obj, entity);
 		productRepository.save(entity);
+		changeEvents.publish(ChangeEvent.Type.PRODUCT, entity.getId(), ChangeEvent.Operation.INSERT);
+		listingCache.invalidateAfterCommit();
 		return new ProductDTO(entity, entity.getCategories());
 	}
 
+	// Ausência decidida pelo findById, e não pela EntityNotFoundException do proxy (com pilha e tradução)
 	@Transactional
 	public ProductDTO update(Long id, ProductDTO obj) {
-		try {			
-			Product entity = productRepository.getReferenceById(id);
-			copyDtoToEntity(obj, entity);
-			if(obj.getId() != null)
-				obj.setId(null);
-			obj.setId(id);
-			productRepository.save(entity);
-			return new ProductDTO(entity, entity.getCategories());
-		}
-		catch(EntityNotFoundException e) {
-			throw new ResourceNotFoundException("Id " + id + " not found!");
-		}
-		catch(RuntimeException e) {
-			throw new ResourceNotFoundException(e.getMessage());
-		}
-		
+		Product entity = productRepository.findById(id)
+				.orElseThrow(() -> new ResourceNotFoundException("Id " + id + " not found!"));
+		copyDtoToEntity(obj, entity);
+		obj.setId(id);
+		productRepository.save(entity);
+		changeEvents.publish(ChangeEvent.Type.PRODUCT, id, ChangeEvent.Operation.UPDATE);
+		listingCache.invalidateAfterCommit();
+		return new ProductDTO(entity, entity.getCategories());
 	}
 
+	// Transacional por causa do evento no outbox; o flush traz o erro de integridade para dentro do try
+	@Transactional
 	public void delete(Long id) {
 		if(!productRepository.existsById(id))
 			throw new ResourceNotFoundException("Id " + id + " not found!");
 		try {
 			productRepository.deleteById(id);
+			changeEvents.publish(ChangeEvent.Type.PRODUCT, id, ChangeEvent.Operation.DELETE);
+			listingCache.invalidateAfterCommit();
+			productRepository.flush();
 		}
 		catch(DataIntegrityViolationException e) {
 			throw new DatabaseException("Product delete error.");
@@ -97,11 +190,17 @@ public class ProductService {
 		entity.setPrice(dto.getPrice());
 		entity.setImgUrl(dto.getImgUrl());
 		entity.setDate(dto.getDate());
-		entity.getCategories().clear();
-		for(CategoryDTO d : dto.getCategories()) {
-			Category cat = categoryRepository.getReferenceById(d.getId());
-			entity.getCategories().add(cat);
+		// Uma consulta para todas as categorias; id inexistente é 404, e não a EntityNotFoundException
+		// que o proxy do getReferenceById só lançaria no flush (500)
+		Set<Long> ids = new HashSet<>();
+		dto.getCategories().forEach(x -> ids.add(x.getId()));
+		List<Category> categories = ids.isEmpty() ? List.of() : categoryRepository.findAllById(ids);
+		if(categories.size() < ids.size()) {
+			categories.forEach(x -> ids.remove(x.getId()));
+			throw new ResourceNotFoundException("Category id " + ids.iterator().next() + " not found!");
 		}
+		entity.getCategories().clear();
+		entity.getCategories().addAll(categories);
 		return entity;
 	}
 
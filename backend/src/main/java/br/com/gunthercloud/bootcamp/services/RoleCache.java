@@ -0,0 +1,76 @@
+package br.com.gunthercloud.bootcamp.services;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.gunthercloud.bootcamp.entitites.Role;
+import br.com.gunthercloud.bootcamp.repositories.RoleRepository;
+import br.com.gunthercloud.bootcamp.services.exceptions.ResourceNotFoundException;
+
+// Mapa imutável id -> Role, recarregado depois do commit de alterações em Role (ver RoleCacheListener)
+@Component
+public class RoleCache {
+
+	// Marca (recurso da transação) de Role alterado e ainda não confirmado; ver RoleCacheListener
+	static final Object PENDING_CHANGES = new Object();
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	private volatile Map<Long, Role> roles;
+
+	// Incrementada a cada invalidate(); protegida pelo monitor da instância
+	private long generation;
+
+	public boolean contains(Long id) {
+		return id != null && getRoles().containsKey(id);
+	}
+
+	public String getAuthority(Long id) {
+		Role role = id == null ? null : getRoles().get(id);
+		if(role == null)
+			throw new ResourceNotFoundException("Role " + id + " not found!");
+		return role.getAuthority();
+	}
+
+	// Uma recarga que começou antes de um invalidate() não publica o mapa: ele pode ser anterior à alteração
+	@EventListener(ApplicationReadyEvent.class)
+	public void refresh() {
+		load();
+	}
+
+	public synchronized void invalidate() {
+		generation++;
+		roles = null;
+	}
+
+	private Map<Long, Role> load() {
+		long start;
+		synchronized(this) {
+			start = generation;
+		}
+		Map<Long, Role> map = new HashMap<>();
+		for(Role r : roleRepository.findAll())
+			map.put(r.getId(), new Role(r.getId(), r.getAuthority()));
+		map = Map.copyOf(map);
+		// Quem alterou Role na própria transação enxerga dados não confirmados: serve só para ele
+		if(TransactionSynchronizationManager.hasResource(PENDING_CHANGES))
+			return map;
+		synchronized(this) {
+			if(generation == start)
+				roles = map;
+		}
+		return map;
+	}
+
+	private Map<Long, Role> getRoles() {
+		Map<Long, Role> map = roles;
+		return map != null && !TransactionSynchronizationManager.hasResource(PENDING_CHANGES) ? map : load();
+	}
+}
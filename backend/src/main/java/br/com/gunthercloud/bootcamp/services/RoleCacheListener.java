@@ -0,0 +1,46 @@
+package br.com.gunthercloud.bootcamp.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.gunthercloud.bootcamp.entitites.Role;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+public class RoleCacheListener {
+
+	// @Lazy evita a dependência circular com o EntityManagerFactory durante o bootstrap
+	@Lazy
+	@Autowired
+	private RoleCache roleCache;
+
+	// Os callbacks rodam no flush, antes do commit: invalidar ali deixaria um leitor recarregar os
+	// dados antigos até o commit, e um rollback limparia o cache à toa
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void onChange(Role role) {
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			roleCache.invalidate();
+			return;
+		}
+		// Uma sincronização por transação; enquanto ela está pendente o RoleCache não publica o que ler
+		if(TransactionSynchronizationManager.hasResource(RoleCache.PENDING_CHANGES))
+			return;
+		TransactionSynchronizationManager.bindResource(RoleCache.PENDING_CHANGES, Boolean.TRUE);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				roleCache.invalidate();
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(RoleCache.PENDING_CHANGES);
+			}
+		});
+	}
+}
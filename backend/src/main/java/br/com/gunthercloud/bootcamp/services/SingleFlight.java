@@ -0,0 +1,69 @@
+package br.com.gunthercloud.bootcamp.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import br.com.gunthercloud.bootcamp.services.exceptions.ServiceUnavailableException;
+
+// Coalescência de chamadas idênticas simultâneas: a primeira (líder) executa o loader na própria
+// thread e as demais esperam o mesmo resultado, ou a mesma exceção, por até timeoutMillis.
+// Nada fica guardado depois que o líder termina: quem chega depois carrega de novo.
+// O resultado é compartilhado entre as threads e não deve ser alterado por quem o recebe.
+public class SingleFlight<K, V> {
+
+	private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+	public V execute(K key, long timeoutMillis, Supplier<V> loader) {
+		CompletableFuture<V> call = new CompletableFuture<>();
+		CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+		if(existing != null)
+			return await(existing, timeoutMillis);
+		V value;
+		try {
+			value = loader.get();
+		}
+		catch(RuntimeException | Error e) {
+			inFlight.remove(key, call);
+			call.completeExceptionally(e);
+			throw e;
+		}
+		inFlight.remove(key, call);
+		call.complete(value);
+		return value;
+	}
+
+	public int size() {
+		return inFlight.size();
+	}
+
+	// Chamadas bloqueadas à espera de um líder (todas as chaves)
+	int waiting() {
+		return inFlight.values().stream().mapToInt(CompletableFuture::getNumberOfDependents).sum();
+	}
+
+	// Timeout ou interrupção só afetam quem espera; o líder continua e entrega aos demais
+	private V await(CompletableFuture<V> call, long timeoutMillis) {
+		try {
+			return call.get(timeoutMillis, TimeUnit.MILLISECONDS);
+		}
+		catch(TimeoutException e) {
+			throw new ServiceUnavailableException("Timed out waiting for an identical request in flight",
+					Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis)));
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for an identical request in flight", e);
+		}
+		catch(ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException r)
+				throw r;
+			if(e.getCause() instanceof Error r)
+				throw r;
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
@@ -1,85 +1,265 @@
 package br.com.gunthercloud.bootcamp.services;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+import br.com.gunthercloud.bootcamp.entitites.Role;
 import br.com.gunthercloud.bootcamp.entitites.User;
+import br.com.gunthercloud.bootcamp.entitites.dto.RoleDTO;
+import br.com.gunthercloud.bootcamp.entitites.dto.UserBulkItemDTO;
 import br.com.gunthercloud.bootcamp.entitites.dto.UserDTO;
 import br.com.gunthercloud.bootcamp.entitites.dto.UserInsertDTO;
 import br.com.gunthercloud.bootcamp.entitites.dto.UserUpdateDTO;
+import br.com.gunthercloud.bootcamp.events.ChangeEventPublisher;
 import br.com.gunthercloud.bootcamp.repositories.RoleRepository;
+import br.com.gunthercloud.bootcamp.repositories.UserBatchRepository;
 import br.com.gunthercloud.bootcamp.repositories.UserRepository;
 import br.com.gunthercloud.bootcamp.services.exceptions.DatabaseException;
+import br.com.gunthercloud.bootcamp.services.exceptions.FieldValidationException;
 import br.com.gunthercloud.bootcamp.services.exceptions.ResourceNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 @Service
 public class UserService {
 
+	private static final int EMAIL_LOOKUP_CHUNK = 1000;
+
 	@Autowired
 	private UserRepository repository;
 	
+	@Autowired
+	private RoleCache roleCache;
+	
 	@Autowired
 	private RoleRepository roleRepository;
 	
 	@Autowired
-	private BCryptPasswordEncoder passwordEncoder;
+	private PasswordHasher passwordHasher;
+	
+	@Autowired
+	private UserBatchRepository batchRepository;
+	
+	@Autowired
+	private Validator validator;
+	
+	@Autowired
+	private ChangeEventPublisher changeEvents;
+	
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	
+	@Value("${app.users.bulk.batch-size:500}")
+	private int bulkBatchSize;
+	
+	@Value("${app.users.bulk.max-size:5000}")
+	private int bulkMaxSize;
 
 	@Transactional(readOnly = true)
 	public Page<UserDTO> findAllPaged(Pageable pageable) {
 		Page<User> obj = repository.findAll(pageable);
+		if(!obj.isEmpty())
+			repository.findUsersWithRoles(obj.getContent());
 		return obj.map(x -> new UserDTO(x));
 	}
 
 	@Transactional(readOnly = true)
 	public UserDTO findById(Long id) {
-		Optional<User> user = repository.findById(id);
+		Optional<User> user = repository.findWithRolesById(id);
 		User entity = user.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
 		return new UserDTO(entity);
 	}
 	
-	@Transactional
+	// Sem @Transactional: o hash roda antes e a conexão só fica presa durante o save (e o outbox)
 	public UserDTO insert(UserInsertDTO dto) {
-		dto.getRoles().forEach(x -> x.setAuthority(roleRepository.findById(x.getId()).get().getAuthority()));
+		dto.getRoles().forEach(x -> x.setAuthority(roleCache.getAuthority(x.getId())));
+		String password = passwordHasher.encode(dto.getPassword());
 		if(dto.getId() != null)
 			dto.setId(null);
 		User entity = new User(dto);
-		entity.setPassword(passwordEncoder.encode(dto.getPassword()));
-		entity = repository.save(entity);
+		entity.setPassword(password);
+		try {
+			transactionTemplate.executeWithoutResult(x -> {
+				repository.save(entity);
+				changeEvents.publish(ChangeEvent.Type.USER, entity.getId(), ChangeEvent.Operation.INSERT);
+			});
+		}
+		catch(DataIntegrityViolationException e) {
+			throw translateIntegrityViolation(e);
+		}
 		return new UserDTO(entity);
 	}
 	
+	// Carga em massa: unicidade de email em consultas IN, hash em paralelo e insert em lotes JDBC.
+	// Cada linha recebe seu próprio resultado; linhas inválidas não impedem as demais.
+	public List<UserBulkItemDTO> insertBulk(List<UserInsertDTO> list) {
+		if(list.size() > bulkMaxSize)
+			throw new FieldValidationException("users", "At most " + bulkMaxSize + " users per request");
+		UserBulkItemDTO[] result = new UserBulkItemDTO[list.size()];
+		
+		List<String> emails = new ArrayList<>(new HashSet<>(list.stream()
+				.filter(x -> x != null && x.getEmail() != null).map(x -> normalizeEmail(x.getEmail())).toList()));
+		// IN em fatias: o Postgres aceita no máximo 65535 parâmetros por statement
+		Set<String> existing = new HashSet<>();
+		for(int from = 0; from < emails.size(); from += EMAIL_LOOKUP_CHUNK)
+			existing.addAll(repository.findExistingEmails(emails.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK, emails.size()))));
+		
+		Set<String> seen = new HashSet<>();
+		List<Integer> valid = new ArrayList<>();
+		for(int i = 0; i < list.size(); i++) {
+			UserInsertDTO dto = list.get(i);
+			// null no array JSON ([null, {...}]) é erro da linha, não da requisição
+			String error = dto == null ? "item: Campo obrigatório" : validateBulkItem(dto, existing, seen);
+			if(error != null)
+				result[i] = new UserBulkItemDTO(i, dto == null ? null : dto.getEmail(), null, error);
+			else
+				valid.add(i);
+		}
+		
+		List<String> hashes = passwordHasher.encodeAll(valid.stream().map(i -> list.get(i).getPassword()).toList());
+		
+		for(int from = 0; from < valid.size(); from += bulkBatchSize) {
+			List<Integer> chunk = valid.subList(from, Math.min(from + bulkBatchSize, valid.size()));
+			List<User> users = new ArrayList<>();
+			for(int k = 0; k < chunk.size(); k++) {
+				UserInsertDTO dto = list.get(chunk.get(k));
+				User entity = new User(null, dto.getFirstName(), dto.getLastName(), dto.getEmail(), hashes.get(from + k));
+				dto.getRoles().forEach(x -> entity.getRoles().add(new Role(x.getId(), roleCache.getAuthority(x.getId()))));
+				users.add(entity);
+			}
+			try {
+				insertChunk(users);
+				for(int k = 0; k < chunk.size(); k++)
+					result[chunk.get(k)] = new UserBulkItemDTO(chunk.get(k), users.get(k).getEmail(), users.get(k).getId(), null);
+			}
+			catch(DataAccessException e) {
+				// O lote inteiro voltou atrás: refaz linha a linha para apontar só as que falham de fato
+				for(int k = 0; k < chunk.size(); k++) {
+					User u = users.get(k);
+					u.setId(null);
+					String error = null;
+					try {
+						insertChunk(List.of(u));
+					}
+					catch(DataIntegrityViolationException ex) {
+						error = translateIntegrityViolation(ex) instanceof FieldValidationException f
+								? f.getFieldName() + ": " + f.getMessage() : "Database error";
+					}
+					catch(DataAccessException ex) {
+						error = "Database error";
+					}
+					result[chunk.get(k)] = new UserBulkItemDTO(chunk.get(k), u.getEmail(), error == null ? u.getId() : null, error);
+				}
+			}
+		}
+		return Arrays.asList(result);
+	}
+	
+	private void insertChunk(List<User> users) {
+		transactionTemplate.executeWithoutResult(x -> {
+			batchRepository.insertAll(users);
+			changeEvents.publishAll(ChangeEvent.Type.USER, users.stream().map(User::getId).toList(), ChangeEvent.Operation.INSERT);
+		});
+	}
+	
 	@Transactional
 	public UserDTO update(Long id, UserUpdateDTO dto) {
-		dto.getRoles().forEach(x -> x.setAuthority(roleRepository.findById(x.getId()).get().getAuthority()));
-		if(repository.findById(id).isEmpty())
-			throw new ResourceNotFoundException("Entity not found " + id);
-		if(dto.getId() != null)
-			dto.setId(null);
-		dto.setId(id);
-		User entity = repository.save(new User(dto));
+		// Uma única leitura (usuário + roles); o resto é dirty checking da entidade gerenciada.
+		// A senha não é tocada, então o hash armazenado é mantido.
+		User entity = repository.findWithRolesById(id).orElseThrow(() -> new ResourceNotFoundException("Entity not found " + id));
+		entity.setFirstName(dto.getFirstName());
+		entity.setLastName(dto.getLastName());
+		entity.setEmail(dto.getEmail());
+		
+		Set<Long> roleIds = new HashSet<>();
+		dto.getRoles().forEach(x -> roleIds.add(x.getId()));
+		entity.getRoles().removeIf(x -> !roleIds.contains(x.getId()));
+		entity.getRoles().forEach(x -> roleIds.remove(x.getId()));
+		// Referência gerenciada, sem SELECT: roles desconhecidas são barradas antes, na validação
+		roleIds.forEach(x -> entity.getRoles().add(roleRepository.getReferenceById(x)));
+		
+		try {
+			repository.flush();
+		}
+		catch(DataIntegrityViolationException e) {
+			throw translateIntegrityViolation(e);
+		}
+		changeEvents.publish(ChangeEvent.Type.USER, id, ChangeEvent.Operation.UPDATE);
 		return new UserDTO(entity);
 	}
 
 	@Transactional
 	public void delete(Long id) {
+		User entity = repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Entity not found " + id));
 		try{
-			if (repository.findById(id).isEmpty()) {
-				throw new ResourceNotFoundException("Entity not found " + id);
-			}
-			repository.deleteById(id);
-		}
-		catch(ResourceNotFoundException e) {
-			throw new ResourceNotFoundException("Entity not found " + id);
+			repository.delete(entity);
+			changeEvents.publish(ChangeEvent.Type.USER, id, ChangeEvent.Operation.DELETE);
+			repository.flush();
 		}
 		catch(DataIntegrityViolationException e) {
 			throw new DatabaseException("Integrity violation");
 		}
 	}
+
+	// O índice único de email é a fonte da verdade: sem consulta prévia e sem corrida entre cadastros.
+	// O nome vem do dialeto do Hibernate (ConstraintViolationException), não do texto da mensagem.
+	private RuntimeException translateIntegrityViolation(DataIntegrityViolationException e) {
+		for(Throwable t = e; t != null; t = t.getCause()) {
+			if(t instanceof ConstraintViolationException c) {
+				if(isEmailUniqueConstraint(c.getConstraintName()))
+					return new FieldValidationException("email", "Esse email já existe");
+				break;
+			}
+		}
+		return new DatabaseException("Integrity violation");
+	}
+
+	// H2 qualifica o nome com o esquema (PUBLIC.UK_...); o Postgres devolve só o nome
+	private static boolean isEmailUniqueConstraint(String name) {
+		if(name == null)
+			return false;
+		return name.substring(name.lastIndexOf('.') + 1).equalsIgnoreCase(User.EMAIL_UNIQUE_CONSTRAINT);
+	}
+	
+	private String validateBulkItem(UserInsertDTO dto, Set<String> existing, Set<String> seen) {
+		for(String property : List.of("firstName", "email")) {
+			Set<ConstraintViolation<UserInsertDTO>> violations = validator.validateProperty(dto, property);
+			if(!violations.isEmpty())
+				return property + ": " + violations.iterator().next().getMessage();
+		}
+		if(dto.getEmail() == null || dto.getEmail().isBlank())
+			return "email: Campo obrigatório";
+		if(dto.getPassword() == null || dto.getPassword().isEmpty())
+			return "password: Campo obrigatório";
+		String email = normalizeEmail(dto.getEmail());
+		if(existing.contains(email) || !seen.add(email))
+			return "email: Esse email já existe";
+		for(RoleDTO r : dto.getRoles()) {
+			if(!roleCache.contains(r.getId()))
+				return "roles: Role " + r.getId() + " não existe";
+		}
+		return null;
+	}
+	
+	// Mesma regra do índice único (email_lower = LOWER(email))
+	private static String normalizeEmail(String email) {
+		return email.toLowerCase(Locale.ROOT);
+	}
 }
@@ -1,6 +1,6 @@
 package br.com.gunthercloud.bootcamp.services.exceptions;
 
-public class DatabaseException extends RuntimeException {
+public class DatabaseException extends DomainException {
 	private static final long serialVersionUID = 1L;
 
 	public DatabaseException(String msg) {
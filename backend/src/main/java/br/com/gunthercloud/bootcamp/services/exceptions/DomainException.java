@@ -0,0 +1,22 @@
+package br.com.gunthercloud.bootcamp.services.exceptions;
+
+// Base das exceções de domínio: viram 4xx/5xx no ResourceExceptionHandler e a pilha não é usada
+// para nada, então não é capturada (fillInStackTrace é o custo dominante de um 404).
+// app.exceptions.stack-traces=true volta a capturar, para depuração (ver AppConfig).
+public abstract class DomainException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	private static volatile boolean stackTraces;
+
+	protected DomainException(String msg) {
+		super(msg, null, false, stackTraces);
+	}
+
+	public static void setStackTraces(boolean enabled) {
+		stackTraces = enabled;
+	}
+
+	public static boolean isStackTraces() {
+		return stackTraces;
+	}
+}
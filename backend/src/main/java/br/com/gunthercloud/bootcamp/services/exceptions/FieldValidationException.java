@@ -0,0 +1,16 @@
+package br.com.gunthercloud.bootcamp.services.exceptions;
+
+public class FieldValidationException extends DomainException {
+	private static final long serialVersionUID = 1L;
+	
+	private final String fieldName;
+
+	public FieldValidationException(String fieldName, String msg) {
+		super(msg);
+		this.fieldName = fieldName;
+	}
+
+	public String getFieldName() {
+		return fieldName;
+	}
+}
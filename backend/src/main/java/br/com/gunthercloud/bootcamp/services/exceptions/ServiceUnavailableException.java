@@ -0,0 +1,16 @@
+package br.com.gunthercloud.bootcamp.services.exceptions;
+
+public class ServiceUnavailableException extends DomainException {
+	private static final long serialVersionUID = 1L;
+	
+	private final long retryAfterSeconds;
+
+	public ServiceUnavailableException(String msg, long retryAfterSeconds) {
+		super(msg);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -5,17 +5,18 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
-import br.com.gunthercloud.bootcamp.entitites.User;
+import br.com.gunthercloud.bootcamp.entitites.dto.RoleDTO;
 import br.com.gunthercloud.bootcamp.entitites.dto.UserInsertDTO;
-import br.com.gunthercloud.bootcamp.repositories.UserRepository;
 import br.com.gunthercloud.bootcamp.resources.exceptions.FieldMessage;
+import br.com.gunthercloud.bootcamp.services.RoleCache;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
+// Email duplicado é tratado pelo índice único no insert (UserService), não por consulta aqui
 public class UserInsertValidator implements ConstraintValidator<UserInsertValid, UserInsertDTO> {
 	
 	@Autowired
-	private UserRepository repository;
+	private RoleCache roleCache;
 	
 	@Override
 	public void initialize(UserInsertValid ann) {
@@ -26,10 +27,9 @@ public class UserInsertValidator implements ConstraintValidator<UserInsertValid,
 		
 		List<FieldMessage> list = new ArrayList<>();
 		
-		User user = repository.findByEmail(dto.getEmail());
-		
-		if(user != null) {
-			list.add(new FieldMessage("email", "Esse email já existe"));
+		for(RoleDTO r : dto.getRoles()) {
+			if(!roleCache.contains(r.getId()))
+				list.add(new FieldMessage("roles", "Role " + r.getId() + " não existe"));
 		}
 		
 		for (FieldMessage e : list) {
@@ -39,4 +39,4 @@ public class UserInsertValidator implements ConstraintValidator<UserInsertValid,
 		}
 		return list.isEmpty();
 	}
-}
\ No newline at end of file
+}
@@ -2,26 +2,21 @@ package br.com.gunthercloud.bootcamp.services.validation;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.web.servlet.HandlerMapping;
 
-import br.com.gunthercloud.bootcamp.entitites.User;
+import br.com.gunthercloud.bootcamp.entitites.dto.RoleDTO;
 import br.com.gunthercloud.bootcamp.entitites.dto.UserUpdateDTO;
-import br.com.gunthercloud.bootcamp.repositories.UserRepository;
 import br.com.gunthercloud.bootcamp.resources.exceptions.FieldMessage;
-import jakarta.servlet.http.HttpServletRequest;
+import br.com.gunthercloud.bootcamp.services.RoleCache;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
+// Email duplicado é tratado pelo índice único no update (UserService), não por consulta aqui
 public class UserUpdateValidator implements ConstraintValidator<UserUpdateValid, UserUpdateDTO> {
 	
 	@Autowired
-	private HttpServletRequest request;
-	
-	@Autowired
-	private UserRepository repository;
+	private RoleCache roleCache;
 	
 	@Override
 	public void initialize(UserUpdateValid ann) {
@@ -30,16 +25,11 @@ public class UserUpdateValidator implements ConstraintValidator<UserUpdateValid,
 	@Override
 	public boolean isValid(UserUpdateDTO dto, ConstraintValidatorContext context) {
 		
-		@SuppressWarnings("unchecked")
-		var uriVars = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
-		long userId = Long.parseLong(uriVars.get("id"));
-		
 		List<FieldMessage> list = new ArrayList<>();
 		
-		User user = repository.findByEmail(dto.getEmail());
-		
-		if(user != null && userId != user.getId()) {
-			list.add(new FieldMessage("email", "Esse email já existe"));
+		for(RoleDTO r : dto.getRoles()) {
+			if(!roleCache.contains(r.getId()))
+				list.add(new FieldMessage("roles", "Role " + r.getId() + " não existe"));
 		}
 		
 		for (FieldMessage e : list) {
@@ -49,4 +39,4 @@ public class UserUpdateValidator implements ConstraintValidator<UserUpdateValid,
 		}
 		return list.isEmpty();
 	}
-}
\ No newline at end of file
+}
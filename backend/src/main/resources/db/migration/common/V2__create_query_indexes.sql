@@ -0,0 +1,13 @@
+-- Índices para as ordenações e filtros expostos pela API.
+-- A PK das tabelas de junção começa pelo lado "dono"; o índice inverso atende o caminho categoria -> produtos.
+-- Ordenações de /products (sort=name|price|date) levam id como desempate, deixando a paginação estável.
+
+CREATE INDEX ix_product_category_category ON tb_product_category (category_id, product_id);
+CREATE INDEX ix_user_role_role ON tb_user_role (role_id, user_id);
+
+CREATE INDEX ix_product_name ON tb_product (name, id);
+CREATE INDEX ix_product_price ON tb_product (price, id);
+CREATE INDEX ix_product_date ON tb_product (date, id);
+
+CREATE INDEX ix_category_name ON tb_category (name, id);
+CREATE INDEX ix_user_first_name ON tb_user (first_name, id);
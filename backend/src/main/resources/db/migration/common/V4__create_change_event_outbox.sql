@@ -0,0 +1,13 @@
+-- Outbox de alterações (ChangeEvent): cada escrita em produto, categoria ou usuário grava uma linha
+-- na mesma transação; os nós leem por id crescente para invalidar caches locais.
+
+CREATE TABLE tb_change_event (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Limpeza por idade (app.events.retention-minutes)
+CREATE INDEX ix_change_event_created_at ON tb_change_event (created_at);
@@ -0,0 +1,6 @@
+-- Unicidade de e-mail sem diferenciar maiúsculas: a mesma regra da busca (email_lower, V3).
+-- O índice comum da V3 e a restrição case-sensitive da V1 dão lugar a um único índice único.
+-- Bases com e-mails repetidos só na caixa precisam ser saneadas antes desta migration.
+DROP INDEX ix_user_email_lower;
+ALTER TABLE tb_user DROP CONSTRAINT uk_user_email;
+CREATE UNIQUE INDEX uk_user_email_lower ON tb_user (email_lower);
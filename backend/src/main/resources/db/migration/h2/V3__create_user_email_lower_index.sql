@@ -0,0 +1,4 @@
+-- Busca de e-mail sem diferenciar maiúsculas (UserRepository.findByEmail).
+-- H2 não tem índice de expressão; a coluna gerada indexada cumpre o mesmo papel.
+ALTER TABLE tb_user ADD COLUMN email_lower VARCHAR(255) GENERATED ALWAYS AS (LOWER(email));
+CREATE INDEX ix_user_email_lower ON tb_user (email_lower);
@@ -0,0 +1,4 @@
+-- Busca de e-mail sem diferenciar maiúsculas (UserRepository.findByEmail).
+-- Coluna gerada em vez de índice de expressão para a consulta ser a mesma no H2.
+ALTER TABLE tb_user ADD COLUMN email_lower VARCHAR(255) GENERATED ALWAYS AS (LOWER(email)) STORED;
+CREATE INDEX ix_user_email_lower ON tb_user (email_lower);
@@ -0,0 +1,63 @@
+package br.com.gunthercloud.bootcamp.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.gunthercloud.bootcamp.services.exceptions.ResourceNotFoundException;
+
+// Custo de um 404: exceção com pilha (como era), exceção de domínio sem pilha e o caminho sem exceção.
+// depth simula a pilha de filtros, proxies e MVC entre o controller e o serviço.
+// mvn test -Dtest=JmhRunner -Djmh.include=ExceptionBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExceptionBenchmark {
+
+	@Param({ "20", "150" })
+	private int depth;
+
+	private Long id = 1000L;
+
+	@Benchmark
+	public Object stackful() {
+		try {
+			return deep(depth, () -> {
+				throw new RuntimeException("Id " + id + " not found!");
+			});
+		}
+		catch(RuntimeException e) {
+			return e.getMessage();
+		}
+	}
+
+	@Benchmark
+	public Object stackless() {
+		try {
+			return deep(depth, () -> {
+				throw new ResourceNotFoundException("Id " + id + " not found!");
+			});
+		}
+		catch(ResourceNotFoundException e) {
+			return e.getMessage();
+		}
+	}
+
+	@Benchmark
+	public Object optional() {
+		Object found = deep(depth, Optional::empty);
+		return ((Optional<?>) found).isPresent() ? found : "Id " + id + " not found!";
+	}
+
+	private Object deep(int n, Supplier<Object> leaf) {
+		return n == 0 ? leaf.get() : deep(n - 1, leaf);
+	}
+}
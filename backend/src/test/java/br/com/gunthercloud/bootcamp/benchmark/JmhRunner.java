@@ -0,0 +1,35 @@
+package br.com.gunthercloud.bootcamp.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+// Dispara os benchmarks JMH deste pacote. O nome não casa com os padrões do surefire, então
+// só roda quando pedido: mvn test -Dtest=JmhRunner -Djmh.include=<regex>
+// Outros parâmetros: jmh.forks, jmh.warmup-iterations, jmh.iterations, jmh.iteration-seconds, jmh.result
+public class JmhRunner {
+
+	@Test
+	public void run() throws Exception {
+		Path result = Path.of(System.getProperty("jmh.result", "target/jmh/result.json"));
+		Files.createDirectories(result.toAbsolutePath().getParent());
+		TimeValue iteration = TimeValue.seconds(Long.getLong("jmh.iteration-seconds", 2));
+		Options options = new OptionsBuilder()
+				.include(System.getProperty("jmh.include", JmhRunner.class.getPackageName() + ".*"))
+				.forks(Integer.getInteger("jmh.forks", 1))
+				.warmupIterations(Integer.getInteger("jmh.warmup-iterations", 3))
+				.warmupTime(iteration)
+				.measurementIterations(Integer.getInteger("jmh.iterations", 5))
+				.measurementTime(iteration)
+				.resultFormat(ResultFormatType.JSON)
+				.result(result.toString())
+				.build();
+		new Runner(options).run();
+	}
+}
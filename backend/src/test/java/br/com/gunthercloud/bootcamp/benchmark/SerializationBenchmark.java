@@ -0,0 +1,104 @@
+package br.com.gunthercloud.bootcamp.benchmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.gunthercloud.bootcamp.config.BinaryFormatsConfig;
+import br.com.gunthercloud.bootcamp.entitites.Category;
+import br.com.gunthercloud.bootcamp.entitites.Product;
+import br.com.gunthercloud.bootcamp.entitites.dto.PageDTO;
+import br.com.gunthercloud.bootcamp.entitites.dto.ProductDTO;
+
+// Custo de codificar/decodificar uma página de produtos em JSON, CBOR e Smile. Os ObjectMapper vêm de um
+// contexto só com JacksonAutoConfiguration e BinaryFormatsConfig: os mesmos customizers do Boot que a aplicação usa.
+// O tamanho de cada payload sai no resultado do JMH (contador payloadBytes).
+// mvn test -Dtest=JmhRunner -Djmh.include=SerializationBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+	@Param({ "json", "cbor", "smile" })
+	private String format;
+
+	@Param({ "12", "100" })
+	private int pageSize;
+
+	private AnnotationConfigApplicationContext context;
+	private ObjectMapper mapper;
+	private PageDTO<ProductDTO> page;
+	private byte[] encoded;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Payload {
+		public long payloadBytes;
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		context = new AnnotationConfigApplicationContext(JacksonAutoConfiguration.class, BinaryFormatsConfig.class);
+		mapper = switch(format) {
+			case "cbor" -> context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+			case "smile" -> context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+			default -> context.getBean(ObjectMapper.class);
+		};
+		page = new PageDTO<>(page(pageSize));
+		encoded = mapper.writeValueAsBytes(page);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public byte[] encode(Payload payload) throws Exception {
+		byte[] bytes = mapper.writeValueAsBytes(page);
+		payload.payloadBytes = bytes.length;
+		return bytes;
+	}
+
+	// Quem consome a API não tem o DTO: lê a árvore, como um cliente genérico
+	@Benchmark
+	public JsonNode decode(Payload payload) throws Exception {
+		payload.payloadBytes = encoded.length;
+		return mapper.readTree(encoded);
+	}
+
+	static PageImpl<ProductDTO> page(int size) {
+		List<Category> categories = List.of(new Category(1L, "Livros"), new Category(2L, "Eletrônicos"), new Category(3L, "Computadores"));
+		List<ProductDTO> content = new ArrayList<>();
+		for(int i = 1; i <= size; i++) {
+			Product p = new Product((long) i, "Produto " + i, "Descrição do produto " + i + " com alguns detalhes de catálogo",
+					100.0 + i * 7.5, "https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/" + i + "-big.jpg",
+					Instant.parse("2020-07-14T10:00:00Z").plusSeconds(i * 3600L));
+			content.add(new ProductDTO(p, new HashSet<>(categories.subList(0, 1 + i % categories.size()))));
+		}
+		return new PageImpl<>(content, PageRequest.of(0, size), 300000);
+	}
+}
@@ -0,0 +1,97 @@
+package br.com.gunthercloud.bootcamp.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+// Tempo até a primeira resposta (processo novo -> GET /categories 200) com e sem o profile fast-start,
+// com e sem o arquivo CDS. Usa o jar extraído de mvn -Pcds package; mediana de startup.runs execuções.
+// Não casa com os padrões do surefire: mvn -Pcds package && mvn test -Dtest=StartupRunner
+// Outros parâmetros: startup.dir (default target/cds), startup.runs, startup.timeout-seconds
+public class StartupRunner {
+
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+	@Test
+	public void run() throws Exception {
+		Path dir = Path.of(System.getProperty("startup.dir", "target/cds")).toAbsolutePath();
+		Path jar;
+		try(var files = Files.list(dir)) {
+			jar = files.filter(x -> x.toString().endsWith(".jar")).findFirst().orElse(null);
+		}
+		catch(IOException e) {
+			jar = null;
+		}
+		Assertions.assertNotNull(jar, "No extracted jar in " + dir + ": run mvn -Pcds package first");
+		Path archive = dir.resolve("application.jsa");
+		int runs = Integer.getInteger("startup.runs", 3);
+
+		List<String> lines = new ArrayList<>();
+		lines.add(String.format("%-22s %10s %10s %10s", "variant", "median ms", "min ms", "max ms"));
+		for(String profiles : List.of("test", "test,fast-start")) {
+			lines.add(measure(profiles, jar, null, runs));
+			if(Files.exists(archive))
+				lines.add(measure(profiles, jar, archive, runs));
+		}
+		lines.forEach(System.out::println);
+	}
+
+	private String measure(String profiles, Path jar, Path archive, int runs) throws Exception {
+		long[] millis = new long[runs];
+		for(int i = 0; i < runs; i++)
+			millis[i] = timeToFirstRequest(profiles, jar, archive);
+		Arrays.sort(millis);
+		String variant = profiles + (archive != null ? " +cds" : "");
+		return String.format("%-22s %10d %10d %10d", variant, millis[runs / 2], millis[0], millis[runs - 1]);
+	}
+
+	private long timeToFirstRequest(String profiles, Path jar, Path archive) throws Exception {
+		int port;
+		try(ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		if(archive != null)
+			command.add("-XX:SharedArchiveFile=" + archive);
+		command.addAll(List.of("-jar", jar.toString(), "--server.port=" + port, "--spring.profiles.active=" + profiles));
+
+		Path log = jar.getParent().resolve("startup-" + profiles.replace(',', '-') + (archive != null ? "-cds" : "") + ".log");
+		long timeout = Long.getLong("startup.timeout-seconds", 120) * 1_000_000_000L;
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command).directory(jar.getParent().toFile())
+				.redirectErrorStream(true).redirectOutput(log.toFile()).start();
+		try {
+			HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/categories"))
+					.timeout(Duration.ofSeconds(5)).build();
+			while(System.nanoTime() - start < timeout) {
+				Assertions.assertTrue(process.isAlive(), "Application exited during startup, see " + log);
+				try {
+					if(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+						return (System.nanoTime() - start) / 1_000_000;
+				}
+				catch(IOException e) {
+					// Ainda não está ouvindo
+				}
+				Thread.sleep(20);
+			}
+			return Assertions.fail("No response within timeout, see " + log);
+		}
+		finally {
+			process.destroy();
+			process.waitFor();
+		}
+	}
+}
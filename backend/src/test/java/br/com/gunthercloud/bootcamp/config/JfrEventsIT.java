@@ -0,0 +1,53 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import br.com.gunthercloud.bootcamp.services.CategoryService;
+import br.com.gunthercloud.bootcamp.services.ProductService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@SpringBootTest
+public class JfrEventsIT {
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private ProductService productService;
+
+	@Test
+	public void serviceCallsShouldEmitServiceOperationEventsWhenEnabled() throws Exception {
+
+		Path file = Files.createTempFile("bootcamp", ".jfr");
+		try(Recording recording = new Recording()) {
+			recording.enable("br.com.gunthercloud.ServiceOperation");
+			recording.start();
+			categoryService.findById(1L);
+			productService.findAllPaged(PageRequest.of(0, 5));
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		Files.deleteIfExists(file);
+
+		RecordedEvent findById = events.stream().filter(e -> "findById".equals(e.getString("operation"))).findFirst().orElseThrow();
+		Assertions.assertEquals("CategoryService", findById.getString("service"));
+		Assertions.assertEquals(1L, findById.getLong("entityId"));
+		Assertions.assertTrue(findById.getInt("sqlStatements") >= 1);
+
+		RecordedEvent findAll = events.stream().filter(e -> "findAllPaged".equals(e.getString("operation"))).findFirst().orElseThrow();
+		Assertions.assertEquals(5, findAll.getInt("pageSize"));
+		Assertions.assertEquals(5, findAll.getInt("rowCount"));
+	}
+}
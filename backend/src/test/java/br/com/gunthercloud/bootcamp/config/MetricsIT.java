@@ -0,0 +1,48 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsIT {
+
+	// actuator:actuator (spring.security.user.* do profile test)
+	static final String ACTUATOR_CREDENTIALS = "Basic YWN0dWF0b3I6YWN0dWF0b3I=";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	public void prometheusShouldRequireActuatorCredentials() throws Exception {
+
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+	}
+
+	@Test
+	public void prometheusShouldExposeServiceRepositoryPoolAndExceptionMetrics() throws Exception {
+
+		mockMvc.perform(get("/products/{id}", 1L)).andExpect(status().isOk());
+		mockMvc.perform(get("/products/{id}", 1000L)).andExpect(status().isNotFound());
+
+		mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, ACTUATOR_CREDENTIALS))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("app_service_invocations_seconds_bucket{class=\"ProductService\"")))
+			.andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+			.andExpect(content().string(containsString("app_exceptions_total{exception=\"ResourceNotFoundException\",method=\"GET\",uri=\"/products/{id}\"")))
+			.andExpect(content().string(containsString("hikaricp_connections")))
+			.andExpect(content().string(containsString("hibernate_sessions_open_total")));
+	}
+}
@@ -0,0 +1,82 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+// Cada teste usa um IP próprio: os baldes vivem enquanto o contexto existir
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:ratelimit_it", "app.ratelimit.api-keys=partner-key",
+		"app.ratelimit.read.per-second=1", "app.ratelimit.read.burst=3",
+		"app.ratelimit.users.per-second=1", "app.ratelimit.users.burst=1" })
+@AutoConfigureMockMvc
+public class RateLimitFilterIT {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	public void clientOverBudgetShouldReceive429WithRetryAfter() throws Exception {
+
+		for(int i = 0; i < 3; i++)
+			mockMvc.perform(get("/categories").with(from("10.0.0.1"))).andExpect(status().isOk());
+
+		mockMvc.perform(get("/categories").with(from("10.0.0.1")))
+			.andExpect(status().isTooManyRequests())
+			.andExpect(header().string("Retry-After", "1"))
+			.andExpect(jsonPath("$.status").value(429))
+			.andExpect(jsonPath("$.path").value("/categories"));
+	}
+
+	@Test
+	public void clientsShouldHaveIndependentBudgets() throws Exception {
+
+		for(int i = 0; i < 3; i++)
+			mockMvc.perform(get("/categories").with(from("10.0.0.2")));
+
+		mockMvc.perform(get("/categories").with(from("10.0.0.2"))).andExpect(status().isTooManyRequests());
+		mockMvc.perform(get("/categories").with(from("10.0.0.3"))).andExpect(status().isOk());
+	}
+
+	@Test
+	public void usersShouldHaveSeparateBudget() throws Exception {
+
+		mockMvc.perform(get("/users/1").with(from("10.0.0.4"))).andExpect(status().isOk());
+		mockMvc.perform(get("/users/1").with(from("10.0.0.4"))).andExpect(status().isTooManyRequests());
+
+		mockMvc.perform(get("/categories").with(from("10.0.0.4"))).andExpect(status().isOk());
+	}
+
+	@Test
+	public void registeredApiKeyShouldHaveOwnBucketAndUnknownKeyShouldFallBackToIp() throws Exception {
+
+		for(int i = 0; i < 3; i++)
+			mockMvc.perform(get("/categories").with(from("10.0.0.5")));
+
+		mockMvc.perform(get("/categories").with(from("10.0.0.5")).header(RateLimitFilter.API_KEY_HEADER, "random"))
+			.andExpect(status().isTooManyRequests());
+		mockMvc.perform(get("/categories").with(from("10.0.0.5")).header(RateLimitFilter.API_KEY_HEADER, "partner-key"))
+			.andExpect(status().isOk());
+	}
+
+	@Test
+	public void actuatorShouldNotBeLimited() throws Exception {
+
+		for(int i = 0; i < 5; i++)
+			mockMvc.perform(get("/actuator/health").with(from("10.0.0.6"))).andExpect(status().isOk());
+	}
+
+	private static RequestPostProcessor from(String ip) {
+		return request -> {
+			request.setRemoteAddr(ip);
+			return request;
+		};
+	}
+}
@@ -0,0 +1,175 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+public class RateLimitTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+	private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@Test
+	public void bucketShouldAllowBurstThenRefillAtRate() {
+
+		TokenBucket bucket = new TokenBucket(2, 3);
+		long now = System.nanoTime();
+
+		for(int i = 0; i < 3; i++)
+			Assertions.assertEquals(0, bucket.tryAcquire(now));
+		long wait = bucket.tryAcquire(now);
+
+		Assertions.assertEquals(SECOND / 2, wait);
+		Assertions.assertTrue(bucket.tryAcquire(now + wait - 1) > 0);
+		Assertions.assertEquals(0, bucket.tryAcquire(now + wait));
+	}
+
+	@Test
+	public void bucketShouldNotAccumulateBeyondBurstWhileIdle() {
+
+		TokenBucket bucket = new TokenBucket(10, 2);
+		long now = System.nanoTime();
+		bucket.tryAcquire(now);
+		long later = now + 60 * SECOND;
+
+		Assertions.assertTrue(bucket.isFull(later));
+		Assertions.assertEquals(0, bucket.tryAcquire(later));
+		Assertions.assertEquals(0, bucket.tryAcquire(later));
+		Assertions.assertTrue(bucket.tryAcquire(later) > 0);
+	}
+
+	@Test
+	public void shedderShouldRaiseDropProbabilityWhenPoolQueueStands() {
+
+		LoadShedder shedder = shedder(0);
+		long start = System.nanoTime();
+
+		shedder.samplePending(3, start + 10 * MILLI);
+		shedder.samplePending(1, start + 20 * MILLI);
+		shedder.samplePending(2, start + 600 * MILLI);
+		shedder.samplePending(4, start + 1100 * MILLI);
+
+		Assertions.assertTrue(shedder.isOverloaded());
+		Assertions.assertEquals(0.5, shedder.getDropProbability(), 1e-9);
+	}
+
+	@Test
+	public void shedderShouldNeverDropEveryRequest() {
+
+		LoadShedder shedder = shedder(0);
+		long start = System.nanoTime();
+		for(int i = 0; i < 10; i++)
+			shedder.samplePending(5, start + i * 510 * MILLI);
+		ReflectionTestUtils.setField(shedder, "random", (DoubleSupplier) () -> 0.95);
+
+		Assertions.assertEquals(0.9, shedder.getDropProbability(), 1e-9);
+		Assertions.assertTrue(shedder.tryEnter(start + 9 * 510 * MILLI + MILLI));
+		ReflectionTestUtils.setField(shedder, "random", (DoubleSupplier) () -> 0.5);
+		Assertions.assertFalse(shedder.tryEnter(start + 9 * 510 * MILLI + 2 * MILLI));
+	}
+
+	@Test
+	public void shedderShouldIgnoreTransientPoolQueue() {
+
+		LoadShedder shedder = shedder(0);
+		long start = System.nanoTime();
+
+		shedder.samplePending(0, start + 10 * MILLI);
+		shedder.samplePending(30, start + 20 * MILLI);
+
+		Assertions.assertTrue(shedder.tryEnter(start + 600 * MILLI));
+		Assertions.assertFalse(shedder.isOverloaded());
+	}
+
+	@Test
+	public void shedderShouldRecoverWhenQueueDrains() {
+
+		LoadShedder shedder = shedder(0);
+		long start = System.nanoTime();
+		shedder.samplePending(2, start + 10 * MILLI);
+		shedder.samplePending(0, start + 600 * MILLI);
+		Assertions.assertTrue(shedder.isOverloaded());
+
+		shedder.samplePending(0, start + 1200 * MILLI);
+
+		Assertions.assertFalse(shedder.isOverloaded());
+	}
+
+	@Test
+	public void shedderShouldResetAfterIdleWindow() {
+
+		LoadShedder shedder = shedder(0);
+		long start = System.nanoTime();
+		shedder.samplePending(2, start + 10 * MILLI);
+		shedder.samplePending(2, start + 600 * MILLI);
+		Assertions.assertTrue(shedder.isOverloaded());
+
+		Assertions.assertTrue(shedder.tryEnter(start + 5000 * MILLI));
+		Assertions.assertFalse(shedder.isOverloaded());
+	}
+
+	@Test
+	public void shedderShouldReadPendingThreadsFromHikari() throws Exception {
+
+		HikariDataSource pool = new HikariDataSource();
+		pool.setJdbcUrl("jdbc:h2:mem:shedder");
+		pool.setMaximumPoolSize(1);
+		pool.setConnectionTimeout(2000);
+		LoadShedder shedder = shedder(0);
+		ReflectionTestUtils.setField(shedder, "pools", List.of(pool));
+		Thread waiter = new Thread(() -> {
+			try(Connection c = pool.getConnection()) {
+			}
+			catch(SQLException e) {
+			}
+		});
+		try(Connection held = pool.getConnection()) {
+			waiter.start();
+			long deadline = System.currentTimeMillis() + 2000;
+			while(pool.getHikariPoolMXBean().getThreadsAwaitingConnection() == 0 && System.currentTimeMillis() < deadline)
+				Thread.sleep(10);
+			long start = System.nanoTime();
+
+			shedder.tryEnter(start);
+			shedder.tryEnter(start + 600 * MILLI);
+
+			Assertions.assertTrue(shedder.isOverloaded());
+		}
+		finally {
+			waiter.join();
+			pool.close();
+		}
+	}
+
+	@Test
+	public void shedderShouldLimitRequestsInFlight() {
+
+		LoadShedder shedder = shedder(2);
+		long now = System.nanoTime();
+
+		Assertions.assertTrue(shedder.tryEnter(now));
+		Assertions.assertTrue(shedder.tryEnter(now));
+		Assertions.assertFalse(shedder.tryEnter(now));
+		shedder.exit();
+		Assertions.assertTrue(shedder.tryEnter(now));
+		Assertions.assertEquals(2, shedder.getInFlight());
+	}
+
+	private LoadShedder shedder(int maxInFlight) {
+		LoadShedder shedder = new LoadShedder();
+		ReflectionTestUtils.setField(shedder, "intervalMillis", 500L);
+		ReflectionTestUtils.setField(shedder, "dropStep", 0.25);
+		ReflectionTestUtils.setField(shedder, "maxDrop", 0.9);
+		ReflectionTestUtils.setField(shedder, "maxInFlight", maxInFlight);
+		shedder.init();
+		return shedder;
+	}
+}
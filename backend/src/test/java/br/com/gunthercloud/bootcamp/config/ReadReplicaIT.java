@@ -0,0 +1,83 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.servlet.http.Cookie;
+
+// Dois H2: o primário e uma réplica com a mesma massa. A réplica recebe um nome diferente
+// para o produto 1, então a resposta mostra de qual banco a leitura veio.
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:primary_it", "app.datasource.routing.enabled=true",
+		"app.datasource.replicas.urls=jdbc:h2:mem:replica_it;DB_CLOSE_DELAY=-1", "app.datasource.replicas.migrate=true",
+		"app.datasource.routing.read-your-writes-ms=5000" })
+@AutoConfigureMockMvc
+public class ReadReplicaIT {
+
+	private static final String PRIMARY_NAME = "The Lord of the Rings";
+	private static final String REPLICA_NAME = "Replica copy";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ReplicaDataSource replicaDataSource;
+
+	@BeforeEach
+	void setUp() {
+		ReplicaDataSource.forcePrimary(false);
+		new JdbcTemplate(replicaDataSource).update("UPDATE tb_product SET name = ? WHERE id = 1", REPLICA_NAME);
+	}
+
+	@Test
+	public void readOnlyTransactionShouldBeServedByReplica() throws Exception {
+
+		mockMvc.perform(get("/products/1").accept(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.name").value(REPLICA_NAME));
+	}
+
+	@Test
+	public void writeShouldGoToPrimaryAndOpenReadYourWritesWindow() throws Exception {
+
+		String body = "{\"name\":\"Written on primary\",\"description\":\"Desc\",\"price\":10.0,\"date\":\"2020-07-13T20:50:07Z\","
+				+ "\"categories\":[{\"id\":1}]}";
+
+		var write = mockMvc.perform(put("/products/2").content(body).contentType(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+			.andReturn();
+		Cookie window = write.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+		mockMvc.perform(get("/products/2").cookie(window).accept(MediaType.APPLICATION_JSON))
+			.andExpect(jsonPath("$.name").value("Written on primary"));
+		mockMvc.perform(get("/products/1").cookie(window).accept(MediaType.APPLICATION_JSON))
+			.andExpect(jsonPath("$.name").value(PRIMARY_NAME));
+		mockMvc.perform(get("/products/2").accept(MediaType.APPLICATION_JSON))
+			.andExpect(jsonPath("$.name").value("Smart TV"));
+	}
+
+	@Test
+	public void expiredOrForgedWindowShouldBeIgnored() throws Exception {
+
+		long now = System.currentTimeMillis();
+
+		mockMvc.perform(get("/products/1").cookie(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(now - 1)))
+				.accept(MediaType.APPLICATION_JSON))
+			.andExpect(jsonPath("$.name").value(REPLICA_NAME));
+		mockMvc.perform(get("/products/1").cookie(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(now + 3_600_000)))
+				.accept(MediaType.APPLICATION_JSON))
+			.andExpect(jsonPath("$.name").value(REPLICA_NAME));
+	}
+}
@@ -0,0 +1,61 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class ReplicaDataSourceTests {
+
+	private final DataSource primary = Mockito.mock(DataSource.class);
+	private final DataSource replica1 = Mockito.mock(DataSource.class);
+	private final DataSource replica2 = Mockito.mock(DataSource.class);
+
+	@AfterEach
+	void tearDown() {
+		ReplicaDataSource.forcePrimary(false);
+	}
+
+	@Test
+	public void roundRobinShouldAlternateReplicas() {
+
+		ReplicaDataSource ds = new ReplicaDataSource(primary, List.of(replica1, replica2), ReplicaDataSource.Strategy.ROUND_ROBIN);
+
+		Assertions.assertSame(replica1, ds.determineTarget());
+		Assertions.assertSame(replica2, ds.determineTarget());
+		Assertions.assertSame(replica1, ds.determineTarget());
+	}
+
+	@Test
+	public void leastConnectionsShouldPickReplicaWithFewestActiveConnections() {
+
+		Map<DataSource, Integer> active = Map.of(replica1, 5, replica2, 1);
+		ReplicaDataSource ds = new ReplicaDataSource(primary, List.of(replica1, replica2),
+				ReplicaDataSource.Strategy.LEAST_CONNECTIONS, active::get);
+
+		for(int i = 0; i < 4; i++)
+			Assertions.assertSame(replica2, ds.determineTarget());
+	}
+
+	@Test
+	public void forcedPrimaryShouldBypassReplicas() {
+
+		ReplicaDataSource ds = new ReplicaDataSource(primary, List.of(replica1, replica2), ReplicaDataSource.Strategy.ROUND_ROBIN);
+
+		ReplicaDataSource.forcePrimary(true);
+
+		Assertions.assertSame(primary, ds.determineTarget());
+	}
+
+	@Test
+	public void constructorShouldRejectEmptyReplicaList() {
+
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> new ReplicaDataSource(primary, List.of(), ReplicaDataSource.Strategy.ROUND_ROBIN));
+	}
+}
@@ -0,0 +1,32 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = { "app.slowlog.query-threshold-ms=0", "app.slowlog.request-threshold-ms=0" })
+@AutoConfigureMockMvc
+public class SlowLogIT {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	public void slowLogEndpointShouldReturnSlowestQueriesAndRequests() throws Exception {
+
+		mockMvc.perform(get("/products/{id}", 1L)).andExpect(status().isOk());
+
+		mockMvc.perform(get("/actuator/slowlog?limit=5").header(HttpHeaders.AUTHORIZATION, MetricsIT.ACTUATOR_CREDENTIALS))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.queries[0].fingerprint").exists())
+			.andExpect(jsonPath("$.queries[0].text").exists())
+			.andExpect(jsonPath("$.requests[?(@.text == 'GET /products/1')]").exists());
+	}
+}
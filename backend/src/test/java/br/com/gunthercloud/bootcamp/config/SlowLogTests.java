@@ -0,0 +1,44 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SlowLogTests {
+
+	@Test
+	@DisplayName("redact deveria remover literais e manter o formato da consulta")
+	public void redactShouldRemoveLiterals() {
+
+		String text = SlowLog.redact("select * from tb_user u1_0 where u1_0.email='alex@gmail.com' and u1_0.id in (?,?) and u1_0.age>18");
+
+		Assertions.assertFalse(text.contains("alex@gmail.com"));
+		Assertions.assertFalse(text.contains("18"));
+		Assertions.assertTrue(text.contains("u1_0.email=?"));
+		Assertions.assertTrue(text.contains("in (?)"));
+	}
+
+	@Test
+	@DisplayName("consultas com literais diferentes deveriam ter o mesmo fingerprint")
+	public void fingerprintShouldIgnoreLiterals() {
+
+		Assertions.assertEquals(SlowLog.fingerprint(SlowLog.redact("select * from t where id=1")),
+				SlowLog.fingerprint(SlowLog.redact("select * from t where id=2")));
+	}
+
+	@Test
+	@DisplayName("o RingBuffer deveria sobrescrever as entradas mais antigas")
+	public void ringBufferShouldOverwriteOldestEntries() {
+
+		RingBuffer<Integer> buffer = new RingBuffer<>(3);
+		for(int i = 1; i <= 5; i++)
+			buffer.add(i);
+
+		List<Integer> snapshot = buffer.snapshot();
+
+		Assertions.assertEquals(3, snapshot.size());
+		Assertions.assertTrue(snapshot.containsAll(List.of(3, 4, 5)));
+	}
+}
@@ -0,0 +1,51 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+// Uso: @RegisterExtension SqlStatementCounterExtension sql = new SqlStatementCounterExtension();
+// e depois sql.assertAtMost(n) / sql.assertNoNPlusOne() no teste.
+public class SqlStatementCounterExtension implements BeforeEachCallback, AfterEachCallback {
+
+	private SqlStatementCounter.Context context;
+	private final int nPlusOneThreshold;
+
+	public SqlStatementCounterExtension() {
+		this(3);
+	}
+
+	public SqlStatementCounterExtension(int nPlusOneThreshold) {
+		this.nPlusOneThreshold = nPlusOneThreshold;
+	}
+
+	@Override
+	public void beforeEach(ExtensionContext extensionContext) {
+		context = SqlStatementCounter.start();
+	}
+
+	@Override
+	public void afterEach(ExtensionContext extensionContext) {
+		SqlStatementCounter.stop(context);
+	}
+
+	public int getCount() {
+		return context.getCount();
+	}
+
+	public void reset() {
+		SqlStatementCounter.stop(context);
+		context = SqlStatementCounter.start();
+	}
+
+	public void assertAtMost(int budget) {
+		Assertions.assertTrue(context.getCount() <= budget,
+				"Expected at most " + budget + " statements but got " + context.getCount() + ": " + context.getShapes());
+	}
+
+	public void assertNoNPlusOne() {
+		Assertions.assertTrue(context.getSuspectedNPlusOne(nPlusOneThreshold).isEmpty(),
+				"Suspected N+1: " + context.getSuspectedNPlusOne(nPlusOneThreshold));
+	}
+}
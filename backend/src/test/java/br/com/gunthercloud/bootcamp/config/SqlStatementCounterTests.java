@@ -0,0 +1,49 @@
+package br.com.gunthercloud.bootcamp.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SqlStatementCounterTests {
+
+	@Test
+	@DisplayName("statements repetidos com o mesmo formato deveriam ser sinalizados como N+1")
+	public void repeatedSelectShapeShouldBeSuspectedNPlusOne() {
+
+		SqlStatementCounter.Context context = SqlStatementCounter.start();
+		try {
+			for(int i = 0; i < 3; i++)
+				SqlStatementCounter.recordStatement("select r.id from tb_role r where r.user_id=?");
+			SqlStatementCounter.recordStatement("select u.id from tb_user u");
+		}
+		finally {
+			SqlStatementCounter.stop(context);
+		}
+
+		Assertions.assertEquals(4, context.getCount());
+		Assertions.assertEquals(1, context.getSuspectedNPlusOne(3).size());
+		Assertions.assertNull(SqlStatementCounter.current());
+	}
+
+	@Test
+	@DisplayName("listas IN de tamanhos diferentes deveriam ter o mesmo formato")
+	public void inListsShouldNormalizeToSameShape() {
+
+		Assertions.assertEquals(SqlStatementCounter.shapeOf("select * from t where id in (?,?,?)"),
+				SqlStatementCounter.shapeOf("select * from t where id in (?)"));
+	}
+
+	@Test
+	@DisplayName("o contexto pai deveria contar os statements do contexto filho")
+	public void parentContextShouldSeeChildStatements() {
+
+		SqlStatementCounter.Context parent = SqlStatementCounter.start();
+		SqlStatementCounter.Context child = SqlStatementCounter.start();
+		SqlStatementCounter.recordStatement("select 1");
+		SqlStatementCounter.stop(child);
+		SqlStatementCounter.stop(parent);
+
+		Assertions.assertEquals(1, child.getCount());
+		Assertions.assertEquals(1, parent.getCount());
+	}
+}
@@ -0,0 +1,101 @@
+package br.com.gunthercloud.bootcamp.datagen;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = { "app.datagen.products=2000", "app.datagen.categories=10", "app.datagen.users=50",
+		"app.datagen.batch-size=500" })
+@ActiveProfiles({ "test", "datagen" })
+public class CatalogDataGeneratorIT {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BCryptPasswordEncoder passwordEncoder;
+
+	@Test
+	public void generatorShouldLoadConfiguredVolumesOnStartup() {
+
+		Assertions.assertEquals(25 + 2000, count("tb_product"));
+		Assertions.assertEquals(3 + 10, count("tb_category"));
+		Assertions.assertEquals(2 + 50, count("tb_user"));
+		Assertions.assertEquals(0, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM tb_product p WHERE NOT EXISTS (SELECT 1 FROM tb_product_category pc WHERE pc.product_id = p.id)", Long.class));
+		Assertions.assertTrue(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_user_role", Long.class) >= 50);
+	}
+
+	// Mesma semente em dois bancos novos (migrados pelo Flyway, como a aplicação): mesmas linhas.
+	// A senha fica de fora: o BCrypt usa sal aleatório.
+	@Test
+	public void generatorShouldBeDeterministicForSameSeed() {
+
+		JdbcTemplate a = generateInto("datagen_a", 7);
+		JdbcTemplate b = generateInto("datagen_b", 7);
+		try {
+			for(String sql : List.of("SELECT id, name FROM tb_category ORDER BY id",
+					"SELECT id, name, description, price, img_url, date FROM tb_product ORDER BY id",
+					"SELECT product_id, category_id FROM tb_product_category ORDER BY product_id, category_id",
+					"SELECT id, first_name, last_name, email FROM tb_user ORDER BY id",
+					"SELECT user_id, role_id FROM tb_user_role ORDER BY user_id, role_id"))
+				Assertions.assertEquals(a.queryForList(sql), b.queryForList(sql), sql);
+
+			// Identidade reposicionada uma vez no fim de cada tabela
+			a.update("INSERT INTO tb_category (name) VALUES ('Nova')");
+			Assertions.assertEquals(3 + 10 + 1, a.queryForObject("SELECT MAX(id) FROM tb_category", Long.class));
+		}
+		finally {
+			a.execute("SHUTDOWN");
+			b.execute("SHUTDOWN");
+		}
+	}
+
+	@Test
+	public void categoryFanOutShouldBeSkewed() {
+
+		long[] ids = new long[10];
+		for(int i = 0; i < ids.length; i++)
+			ids[i] = i + 1;
+		double[] zipf = CatalogDataGenerator.zipfCumulative(ids.length, 1.1);
+		SplittableRandom random = new SplittableRandom(1);
+		int[] hits = new int[ids.length];
+		for(int i = 0; i < 10000; i++)
+			CatalogDataGenerator.pickCategories(ids, zipf, random).forEach(x -> hits[(int) (x - 1)]++);
+
+		Assertions.assertTrue(hits[0] > 3 * hits[9]);
+	}
+
+	private JdbcTemplate generateInto(String database, long seed) {
+		DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", "");
+		Flyway.configure().dataSource(dataSource)
+				.locations("classpath:db/migration/common", "classpath:db/migration/h2", "classpath:db/seed")
+				.load().migrate();
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		CatalogDataGenerator generator = new CatalogDataGenerator();
+		ReflectionTestUtils.setField(generator, "jdbcTemplate", jdbc);
+		ReflectionTestUtils.setField(generator, "transactionTemplate", new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+		ReflectionTestUtils.setField(generator, "passwordEncoder", passwordEncoder);
+		ReflectionTestUtils.setField(generator, "batchSize", 100);
+		generator.generate(500, 10, 50, seed);
+		return jdbc;
+	}
+
+	private long count(String table) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+	}
+}
@@ -0,0 +1,97 @@
+package br.com.gunthercloud.bootcamp.events;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+import br.com.gunthercloud.bootcamp.repositories.ChangeEventRepository;
+
+@ExtendWith(SpringExtension.class)
+public class ChangeEventDispatcherTests {
+
+	@InjectMocks
+	private ChangeEventDispatcher dispatcher;
+
+	@Mock
+	private ChangeEventRepository repository;
+
+	@Mock
+	private ObjectProvider<ChangeEventListener> listeners;
+
+	@Mock
+	private ChangeEventListener listener;
+
+	@BeforeEach
+	void setUp() {
+		Mockito.when(repository.findMaxId()).thenReturn(10L);
+		Mockito.when(listeners.orderedStream()).thenAnswer(x -> Stream.of(listener));
+		dispatcher.init();
+	}
+
+	@Test
+	public void dispatchShouldDeliverEventsInSequence() {
+
+		dispatcher.dispatch(List.of(event(11), event(12)));
+
+		Mockito.verify(listener, Mockito.times(2)).onChange(Mockito.any());
+		Mockito.verify(listener, Mockito.never()).onFullFlush();
+	}
+
+	@Test
+	public void dispatchShouldIgnoreAlreadySeenSequences() {
+
+		dispatcher.dispatch(List.of(event(11)));
+		dispatcher.dispatch(List.of(event(9), event(11)));
+
+		Mockito.verify(listener, Mockito.times(1)).onChange(Mockito.any());
+	}
+
+	@Test
+	public void dispatchShouldFullFlushWhenSequenceHasGap() {
+
+		dispatcher.dispatch(List.of(event(14)));
+
+		Mockito.verify(listener).onFullFlush();
+		Mockito.verify(listener).onChange(Mockito.any());
+		Assertions.assertEquals(14, dispatcher.getLastSequence());
+	}
+
+	@Test
+	public void dispatchShouldDeliverSkippedSequenceThatCommitsLate() {
+
+		dispatcher.dispatch(List.of(event(13)));
+		Assertions.assertEquals(List.of(11L, 12L), dispatcher.getSkippedSequences());
+
+		dispatcher.dispatch(List.of(event(12)));
+		dispatcher.dispatch(List.of(event(12)));
+
+		Mockito.verify(listener, Mockito.times(2)).onChange(Mockito.any());
+		Assertions.assertEquals(List.of(11L), dispatcher.getSkippedSequences());
+		Assertions.assertEquals(13, dispatcher.getLastSequence());
+	}
+
+	@Test
+	public void dispatchShouldRememberOnlyIdsJustBelowLargeGap() {
+
+		dispatcher.dispatch(List.of(event(10 + ChangeEventDispatcher.MAX_SKIPPED * 5L)));
+
+		List<Long> skipped = dispatcher.getSkippedSequences();
+		Assertions.assertEquals(ChangeEventDispatcher.MAX_SKIPPED, skipped.size());
+		Assertions.assertEquals(10 + ChangeEventDispatcher.MAX_SKIPPED * 5L - 1, skipped.get(skipped.size() - 1));
+	}
+
+	private ChangeEvent event(long id) {
+		return new ChangeEvent(id, ChangeEvent.Type.PRODUCT, 1L, ChangeEvent.Operation.UPDATE, Instant.now());
+	}
+}
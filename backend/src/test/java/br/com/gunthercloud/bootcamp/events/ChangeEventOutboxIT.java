@@ -0,0 +1,136 @@
+package br.com.gunthercloud.bootcamp.events;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gunthercloud.bootcamp.entitites.Category;
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+import br.com.gunthercloud.bootcamp.entitites.dto.CategoryDTO;
+import br.com.gunthercloud.bootcamp.repositories.ChangeEventRepository;
+import br.com.gunthercloud.bootcamp.services.CategoryService;
+import jakarta.persistence.EntityManagerFactory;
+
+// Profile test: barramento in-memory, entrega após o commit
+@SpringBootTest
+public class ChangeEventOutboxIT {
+
+	@TestConfiguration
+	static class Config {
+		@Bean
+		RecordingListener recordingListener() {
+			return new RecordingListener();
+		}
+	}
+
+	static class RecordingListener implements ChangeEventListener {
+		final List<ChangeEvent> events = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void onChange(ChangeEvent event) {
+			events.add(event);
+		}
+
+		@Override
+		public void onFullFlush() {
+		}
+	}
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private ChangeEventPublisher publisher;
+
+	@Autowired
+	private ChangeEventRepository repository;
+
+	@Autowired
+	private RecordingListener listener;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@BeforeEach
+	void setUp() {
+		listener.events.clear();
+	}
+
+	@Test
+	public void writeShouldStoreOutboxRowAndDeliverAfterCommit() {
+
+		long before = repository.findMaxId();
+
+		CategoryDTO dto = categoryService.insert(new CategoryDTO(null, "Outbox"));
+
+		ChangeEvent stored = repository.findByIdGreaterThanOrderByIdAsc(before, Limit.of(10)).get(0);
+		Assertions.assertEquals(ChangeEvent.Type.CATEGORY, stored.getType());
+		Assertions.assertEquals(dto.getId(), stored.getEntityId());
+		Assertions.assertEquals(ChangeEvent.Operation.INSERT, stored.getOperation());
+		Assertions.assertEquals(List.of(stored), listener.events);
+	}
+
+	@Test
+	public void rolledBackWriteShouldNotPublish() {
+
+		long before = repository.findMaxId();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			categoryService.update(1L, new CategoryDTO(null, "Rollback"));
+			status.setRollbackOnly();
+		});
+
+		Assertions.assertEquals(before, repository.findMaxId());
+		Assertions.assertTrue(listener.events.isEmpty());
+	}
+
+	@Test
+	public void publishAllShouldStoreOneRowPerEntityAndDeliverAfterCommit() {
+
+		long before = repository.findMaxId();
+
+		transactionTemplate.executeWithoutResult(x -> {
+			publisher.publishAll(ChangeEvent.Type.USER, List.of(7L, 8L, 9L), ChangeEvent.Operation.INSERT);
+			Assertions.assertTrue(listener.events.isEmpty());
+		});
+
+		List<ChangeEvent> stored = repository.findByIdGreaterThanOrderByIdAsc(before, Limit.of(10));
+		Assertions.assertEquals(List.of(7L, 8L, 9L), stored.stream().map(ChangeEvent::getEntityId).toList());
+		Assertions.assertEquals(ChangeEvent.Type.USER, stored.get(0).getType());
+		Assertions.assertEquals(stored, listener.events);
+	}
+
+	@Test
+	public void publishShouldRequireTransaction() {
+
+		Assertions.assertThrows(IllegalTransactionStateException.class,
+				() -> publisher.publish(ChangeEvent.Type.PRODUCT, 1L, ChangeEvent.Operation.UPDATE));
+	}
+
+	@Test
+	public void categoryEventShouldEvictSecondLevelCache() {
+
+		categoryService.findById(2L);
+		Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+		Assertions.assertTrue(cache.containsEntity(Category.class, 2L));
+
+		transactionTemplate.executeWithoutResult(x -> publisher.publish(ChangeEvent.Type.CATEGORY, 2L, ChangeEvent.Operation.UPDATE));
+
+		Assertions.assertFalse(cache.containsEntity(Category.class, 2L));
+	}
+}
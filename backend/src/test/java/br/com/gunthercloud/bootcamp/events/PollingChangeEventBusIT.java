@@ -0,0 +1,106 @@
+package br.com.gunthercloud.bootcamp.events;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+import br.com.gunthercloud.bootcamp.entitites.dto.CategoryDTO;
+import br.com.gunthercloud.bootcamp.services.CategoryService;
+
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:polling_it", "app.events.bus=polling", "app.events.poll-interval-ms=50", "app.events.gap-grace-ms=200" })
+public class PollingChangeEventBusIT {
+
+	@TestConfiguration
+	static class Config {
+		@Bean
+		RecordingListener recordingListener() {
+			return new RecordingListener();
+		}
+	}
+
+	static class RecordingListener implements ChangeEventListener {
+		final List<ChangeEvent> events = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void onChange(ChangeEvent event) {
+			events.add(event);
+		}
+
+		@Override
+		public void onFullFlush() {
+		}
+	}
+
+	@Autowired
+	private RecordingListener listener;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private ChangeEventDispatcher dispatcher;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	public void pollerShouldDeliverCommittedEvents() throws Exception {
+
+		categoryService.insert(new CategoryDTO(null, "Polling"));
+		long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tb_change_event", Long.class);
+
+		awaitSequence(max);
+	}
+
+	@Test
+	public void pollerShouldSkipGapAfterGracePeriod() throws Exception {
+
+		long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tb_change_event", Long.class);
+		// Sequência pulada, como se a transação do id intermediário tivesse sido desfeita
+		jdbcTemplate.update("INSERT INTO tb_change_event (id, entity_type, entity_id, operation, created_at) VALUES (?, 'PRODUCT', 1, 'UPDATE', ?)",
+				max + 3, Timestamp.from(Instant.now()));
+		jdbcTemplate.execute("ALTER TABLE tb_change_event ALTER COLUMN id RESTART WITH " + (max + 4));
+
+		awaitSequence(max + 3);
+	}
+
+	// Transação que reservou o id antes do salto mas só comitou depois do gap-grace-ms
+	@Test
+	public void pollerShouldDeliverEventCommittedAfterGracePeriod() throws Exception {
+
+		long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tb_change_event", Long.class);
+		insertEvent(max + 2, 2L);
+		jdbcTemplate.execute("ALTER TABLE tb_change_event ALTER COLUMN id RESTART WITH " + (max + 3));
+		awaitSequence(max + 2);
+
+		insertEvent(max + 1, 1L);
+
+		long deadline = System.currentTimeMillis() + 5000;
+		while(listener.events.stream().noneMatch(x -> x.getId() == max + 1) && System.currentTimeMillis() < deadline)
+			Thread.sleep(20);
+		Assertions.assertTrue(listener.events.stream().anyMatch(x -> x.getId() == max + 1), listener.events.toString());
+		Assertions.assertFalse(dispatcher.getSkippedSequences().contains(max + 1));
+	}
+
+	private void insertEvent(long id, long entityId) {
+		jdbcTemplate.update("INSERT INTO tb_change_event (id, entity_type, entity_id, operation, created_at) VALUES (?, 'PRODUCT', ?, 'UPDATE', ?)",
+				id, entityId, Timestamp.from(Instant.now()));
+	}
+
+	private void awaitSequence(long sequence) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while(dispatcher.getLastSequence() < sequence && System.currentTimeMillis() < deadline)
+			Thread.sleep(20);
+		Assertions.assertTrue(dispatcher.getLastSequence() >= sequence, "last sequence " + dispatcher.getLastSequence());
+	}
+}
@@ -0,0 +1,174 @@
+package br.com.gunthercloud.bootcamp.events;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import br.com.gunthercloud.bootcamp.entitites.dto.ProductDTO;
+import br.com.gunthercloud.bootcamp.repositories.tests.Factory;
+import br.com.gunthercloud.bootcamp.services.ProductService;
+
+// Cliente HTTP real: o stream só é útil se os quadros chegam enquanto a resposta continua aberta
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:changes_it", "app.products.changes.replay-capacity=3",
+		"app.products.changes.heartbeat-ms=200" })
+public class ProductChangeStreamIT {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductChangeStream stream;
+
+	private final List<InputStream> open = new ArrayList<>();
+
+	// O heartbeat descobre as conexões fechadas; cada teste começa sem assinantes
+	@AfterEach
+	void tearDown() throws Exception {
+		for(InputStream in : open)
+			in.close();
+		awaitSubscribers(0);
+	}
+
+	@Test
+	public void insertShouldBeStreamedAfterCommit() throws Exception {
+
+		BlockingQueue<Frame> frames = connect(null);
+		ProductDTO dto = productService.insert(product());
+
+		Frame frame = frames.poll(5, TimeUnit.SECONDS);
+		Assertions.assertNotNull(frame);
+		Assertions.assertEquals(ProductChangeStream.EVENT_NAME, frame.event);
+		Assertions.assertTrue(frame.data.contains("\"productId\":" + dto.getId()), frame.data);
+		Assertions.assertTrue(frame.data.contains("\"operation\":\"INSERT\""), frame.data);
+	}
+
+	@Test
+	public void lastEventIdShouldReplayMissedEvents() throws Exception {
+
+		BlockingQueue<Frame> live = connect(null);
+		ProductDTO dto = productService.insert(product());
+		Frame first = live.poll(5, TimeUnit.SECONDS);
+		productService.update(dto.getId(), product());
+		productService.delete(dto.getId());
+
+		BlockingQueue<Frame> resumed = connect(first.id);
+
+		Frame update = resumed.poll(5, TimeUnit.SECONDS);
+		Frame delete = resumed.poll(5, TimeUnit.SECONDS);
+		Assertions.assertTrue(update.data.contains("\"operation\":\"UPDATE\""), update.data);
+		Assertions.assertTrue(delete.data.contains("\"operation\":\"DELETE\""), delete.data);
+		Assertions.assertEquals(Long.parseLong(first.id) + 1, Long.parseLong(update.id));
+		Assertions.assertEquals(Long.parseLong(update.id) + 1, Long.parseLong(delete.id));
+	}
+
+	@Test
+	public void lastEventIdOutsideReplayBufferShouldReset() throws Exception {
+
+		BlockingQueue<Frame> live = connect(null);
+		ProductDTO dto = productService.insert(product());
+		Frame first = live.poll(5, TimeUnit.SECONDS);
+		for(int i = 0; i < 4; i++)
+			productService.update(dto.getId(), product());
+
+		BlockingQueue<Frame> resumed = connect(first.id);
+
+		Frame frame = resumed.poll(5, TimeUnit.SECONDS);
+		Assertions.assertEquals(ProductChangeStream.RESET_EVENT_NAME, frame.event);
+	}
+
+	@Test
+	public void closedConnectionShouldReleaseSubscriber() throws Exception {
+
+		connect(null);
+		Assertions.assertEquals(1, stream.getSubscriberCount());
+
+		open.remove(open.size() - 1).close();
+		// O servidor só percebe a desconexão ao tentar escrever
+		ProductDTO dto = productService.insert(product());
+		productService.delete(dto.getId());
+
+		awaitSubscribers(0);
+		Assertions.assertEquals(0, stream.getSubscriberCount());
+	}
+
+	private void awaitSubscribers(int expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while(stream.getSubscriberCount() != expected && System.currentTimeMillis() < deadline)
+			Thread.sleep(50);
+	}
+
+	// O update copia o id do DTO: sem id, vale o da URL
+	private ProductDTO product() {
+		ProductDTO dto = Factory.createProductDTO();
+		dto.setId(null);
+		return dto;
+	}
+
+	// Lê o stream em uma thread separada e entrega um Frame por evento (comentários ignorados)
+	private BlockingQueue<Frame> connect(String lastEventId) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/products/changes"))
+				.header("Accept", "text/event-stream");
+		if(lastEventId != null)
+			request.header("Last-Event-ID", lastEventId);
+		HttpResponse<InputStream> response = HttpClient.newHttpClient().send(request.build(),
+				HttpResponse.BodyHandlers.ofInputStream());
+		Assertions.assertEquals(200, response.statusCode());
+		open.add(response.body());
+
+		BlockingQueue<Frame> frames = new LinkedBlockingQueue<>();
+		Thread reader = new Thread(() -> {
+			try(BufferedReader in = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+				Frame frame = new Frame();
+				String line;
+				while((line = in.readLine()) != null) {
+					if(line.isEmpty()) {
+						if(frame.event != null)
+							frames.add(frame);
+						frame = new Frame();
+					}
+					else if(line.startsWith("id:"))
+						frame.id = line.substring(3);
+					else if(line.startsWith("event:"))
+						frame.event = line.substring(6);
+					else if(line.startsWith("data:"))
+						frame.data = line.substring(5);
+				}
+			}
+			catch(Exception e) {
+				// Conexão fechada pelo teste
+			}
+		});
+		reader.setDaemon(true);
+		reader.start();
+		// A assinatura é registrada antes do status 200 chegar ao cliente
+		return frames;
+	}
+
+	static class Frame {
+		String id;
+		String event;
+		String data;
+	}
+}
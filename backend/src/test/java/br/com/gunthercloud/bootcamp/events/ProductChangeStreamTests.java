@@ -0,0 +1,94 @@
+package br.com.gunthercloud.bootcamp.events;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.gunthercloud.bootcamp.entitites.ChangeEvent;
+import br.com.gunthercloud.bootcamp.repositories.ChangeEventRepository;
+
+public class ProductChangeStreamTests {
+
+	private ProductChangeStream stream;
+	private CountDownLatch release;
+
+	@BeforeEach
+	void setUp() {
+		ChangeEventRepository repository = Mockito.mock(ChangeEventRepository.class);
+		Mockito.when(repository.findMaxId()).thenReturn(0L);
+		release = new CountDownLatch(1);
+
+		stream = new ProductChangeStream();
+		ReflectionTestUtils.setField(stream, "repository", repository);
+		ReflectionTestUtils.setField(stream, "objectMapper", new ObjectMapper().findAndRegisterModules());
+		ReflectionTestUtils.setField(stream, "replayCapacity", 16);
+		ReflectionTestUtils.setField(stream, "maxSubscribers", 10);
+		ReflectionTestUtils.setField(stream, "timeoutMillis", 60000L);
+		ReflectionTestUtils.setField(stream, "heartbeatMillis", 60000L);
+		ReflectionTestUtils.setField(stream, "retryAfterSeconds", 5L);
+		ReflectionTestUtils.setField(stream, "subscriberQueueCapacity", 4);
+		ReflectionTestUtils.setField(stream, "sendThreads", 2);
+		stream.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		stream.shutdown();
+	}
+
+	@Test
+	public void subscriberThatNeverReadsShouldBeDroppedWithoutDelayingOthers() throws Exception {
+
+		stream.subscribe(new StuckEmitter(), null);
+		RecordingEmitter reader = new RecordingEmitter();
+		stream.subscribe(reader, null);
+
+		// Quem lê recebe cada evento enquanto o outro continua preso no primeiro
+		for(long i = 1; i <= 10; i++) {
+			stream.onChange(new ChangeEvent(i, ChangeEvent.Type.PRODUCT, i, ChangeEvent.Operation.UPDATE, Instant.now()));
+			Assertions.assertNotNull(reader.frames.poll(5, TimeUnit.SECONDS));
+		}
+		// Um quadro preso na escrita + a fila de 4: o sexto evento já não coube
+		Assertions.assertEquals(1, stream.getSubscriberCount());
+	}
+
+	// Escrita que nunca termina: cliente que parou de ler com o buffer do socket cheio
+	private class StuckEmitter extends SseEmitter {
+
+		@Override
+		public void send(Set<DataWithMediaType> items) throws IOException {
+			try {
+				release.await();
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			throw new IOException("Broken pipe");
+		}
+	}
+
+	private static class RecordingEmitter extends SseEmitter {
+
+		final BlockingQueue<Set<DataWithMediaType>> frames = new LinkedBlockingQueue<>();
+
+		@Override
+		public void send(Set<DataWithMediaType> items) {
+			frames.add(items);
+		}
+	}
+}
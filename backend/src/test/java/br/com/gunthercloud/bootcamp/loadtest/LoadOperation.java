@@ -0,0 +1,22 @@
+package br.com.gunthercloud.bootcamp.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+// Uma operação do mix de carga: nome (chave no relatório), peso relativo e fábrica de requisições
+public record LoadOperation(String name, int weight, BiFunction<URI, SplittableRandom, HttpRequest> request) {
+
+	public static LoadOperation get(String name, int weight, BiFunction<URI, SplittableRandom, String> path) {
+		return new LoadOperation(name, weight, (base, random) -> HttpRequest.newBuilder(base.resolve(path.apply(base, random)))
+				.GET().header("Accept", "application/json").build());
+	}
+
+	public static LoadOperation send(String name, int weight, String method, BiFunction<URI, SplittableRandom, String> path,
+			BiFunction<URI, SplittableRandom, String> body) {
+		return new LoadOperation(name, weight, (base, random) -> HttpRequest.newBuilder(base.resolve(path.apply(base, random)))
+				.method(method, HttpRequest.BodyPublishers.ofString(body.apply(base, random)))
+				.header("Content-Type", "application/json").header("Accept", "application/json").build());
+	}
+}
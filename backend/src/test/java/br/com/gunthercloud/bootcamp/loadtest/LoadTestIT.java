@@ -0,0 +1,66 @@
+package br.com.gunthercloud.bootcamp.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+// Carga mista contra a aplicação em porta aleatória, com massa do perfil datagen.
+// Parâmetros via -D: loadtest.rate, loadtest.warmup-seconds, loadtest.duration-seconds,
+// loadtest.products, loadtest.users, loadtest.seed, loadtest.report
+// Ex.: mvn test -Dtest=LoadTestIT -Dloadtest.rate=500 -Dloadtest.duration-seconds=60 -Dloadtest.products=100000
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"app.datagen.products=${loadtest.products:2000}", "app.datagen.users=${loadtest.users:200}" })
+@ActiveProfiles({ "test", "datagen" })
+public class LoadTestIT {
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	public void mixedWorkloadShouldSustainTargetRate() throws Exception {
+
+		double rate = Double.parseDouble(System.getProperty("loadtest.rate", "20"));
+		Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 2));
+		Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 5));
+		long products = 25 + Long.getLong("loadtest.products", 2000);
+		long users = 2 + Long.getLong("loadtest.users", 200);
+		long seed = Long.getLong("loadtest.seed", 42);
+		Path reportFile = Path.of(System.getProperty("loadtest.report", "target/loadtest/report.json"));
+
+		AtomicLong emails = new AtomicLong();
+		String product = "{\"name\":\"Produto carga\",\"description\":\"Gerado pelo teste de carga\",\"price\":99.9,"
+				+ "\"date\":\"2024-01-01T00:00:00Z\",\"categories\":[{\"id\":1}]}";
+
+		List<LoadOperation> mix = List.of(
+				LoadOperation.get("GET /products", 35, (b, r) -> "/products?page=" + r.nextInt(20) + "&size=12&sort=name"),
+				LoadOperation.get("GET /products/{id}", 30, (b, r) -> "/products/" + (1 + r.nextLong(products))),
+				LoadOperation.get("GET /categories", 10, (b, r) -> "/categories"),
+				LoadOperation.get("GET /users", 5, (b, r) -> "/users?page=" + r.nextInt(5) + "&size=12"),
+				LoadOperation.get("GET /users/{id}", 5, (b, r) -> "/users/" + (1 + r.nextLong(users))),
+				LoadOperation.send("POST /products", 8, "POST", (b, r) -> "/products", (b, r) -> product),
+				LoadOperation.send("PUT /products/{id}", 5, "PUT", (b, r) -> "/products/" + (26 + r.nextLong(products - 25)),
+						(b, r) -> product),
+				LoadOperation.send("POST /users", 2, "POST", (b, r) -> "/users",
+						(b, r) -> "{\"firstName\":\"Carga\",\"lastName\":\"Teste\",\"email\":\"load" + emails.incrementAndGet()
+								+ "@loadtest.com\",\"password\":\"123456\",\"roles\":[{\"id\":1}]}"));
+
+		OpenModelLoadGenerator generator = new OpenModelLoadGenerator(URI.create("http://localhost:" + port),
+				mix, Duration.ofSeconds(10), 2000);
+		LoadTestReport report = generator.run(rate, warmup, duration, seed);
+		report.writeTo(reportFile);
+
+		report.endpoints().forEach((name, e) -> {
+			Assertions.assertTrue(e.requests() > 0, name + " não foi exercitado");
+			Assertions.assertEquals(0, e.errors(), name + " teve erros: " + e);
+		});
+	}
+}
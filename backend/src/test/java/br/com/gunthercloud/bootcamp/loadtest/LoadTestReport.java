@@ -0,0 +1,61 @@
+package br.com.gunthercloud.bootcamp.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Resultado de uma execução; serializado em JSON para comparação entre execuções (latências em ms)
+public record LoadTestReport(double targetRate, long measuredMillis, long maxDispatchLagMillis, double throughput,
+		Map<String, Endpoint> endpoints) {
+
+	public record Endpoint(long requests, double throughput, long failures, long dropped, Map<Integer, Long> statuses,
+			double p50, double p90, double p99, double p999, double max, double mean) {
+
+		public long errors() {
+			long errors = failures + dropped;
+			for(Map.Entry<Integer, Long> e : statuses.entrySet()) {
+				if(e.getKey() >= 500)
+					errors += e.getValue();
+			}
+			return errors;
+		}
+	}
+
+	static LoadTestReport of(double targetRate, Duration measured, Duration maxDispatchLag,
+			Map<String, OpenModelLoadGenerator.OperationStats> stats) {
+
+		double seconds = Math.max(measured.toNanos() / 1e9, 1e-9);
+		Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+		long total = 0;
+		for(Map.Entry<String, OpenModelLoadGenerator.OperationStats> e : stats.entrySet()) {
+			OpenModelLoadGenerator.OperationStats s = e.getValue();
+			Histogram h = s.latency;
+			Map<Integer, Long> statuses = new TreeMap<>();
+			s.statuses.forEach((k, v) -> statuses.put(k, v.sum()));
+			long requests = h.getTotalCount() + s.failures.sum();
+			total += requests;
+			endpoints.put(e.getKey(), new Endpoint(requests, requests / seconds, s.failures.sum(), s.dropped.sum(), statuses,
+					millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)), millis(h.getValueAtPercentile(99)),
+					millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()), h.getTotalCount() == 0 ? 0 : h.getMean() / 1000.0));
+		}
+		return new LoadTestReport(targetRate, measured.toMillis(), maxDispatchLag.toMillis(), total / seconds, endpoints);
+	}
+
+	public void writeTo(Path file) throws IOException {
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), this);
+	}
+
+	private static double millis(long micros) {
+		return micros / 1000.0;
+	}
+}
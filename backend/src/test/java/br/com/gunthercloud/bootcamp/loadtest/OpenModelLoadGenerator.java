@@ -0,0 +1,153 @@
+package br.com.gunthercloud.bootcamp.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+// Gerador de modelo aberto: as chegadas seguem uma taxa constante independente das respostas.
+// A latência é medida a partir do instante *planejado* de envio, não do envio efetivo,
+// para não esconder filas quando o servidor (ou o próprio gerador) atrasa (coordinated omission).
+public class OpenModelLoadGenerator {
+
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+	private final URI baseUri;
+	private final List<LoadOperation> operations;
+	private final int[] cumulativeWeights;
+	private final HttpClient client;
+	private final ExecutorService executor;
+	private final Duration requestTimeout;
+	private final int maxInFlight;
+
+	public OpenModelLoadGenerator(URI baseUri, List<LoadOperation> operations, Duration requestTimeout, int maxInFlight) {
+		this.baseUri = baseUri;
+		this.operations = List.copyOf(operations);
+		this.cumulativeWeights = new int[operations.size()];
+		int total = 0;
+		for(int i = 0; i < operations.size(); i++) {
+			total += operations.get(i).weight();
+			cumulativeWeights[i] = total;
+		}
+		this.executor = Executors.newCachedThreadPool(r -> {
+			Thread t = new Thread(r, "loadtest-http");
+			t.setDaemon(true);
+			return t;
+		});
+		this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor)
+				.connectTimeout(Duration.ofSeconds(5)).build();
+		this.requestTimeout = requestTimeout;
+		this.maxInFlight = maxInFlight;
+	}
+
+	public LoadTestReport run(double ratePerSecond, Duration warmup, Duration duration, long seed) {
+
+		Map<String, OperationStats> stats = new LinkedHashMap<>();
+		operations.forEach(op -> stats.put(op.name(), new OperationStats()));
+
+		SplittableRandom random = new SplittableRandom(seed);
+		long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+		long total = (warmup.toNanos() + duration.toNanos()) / intervalNanos;
+		long warmupRequests = warmup.toNanos() / intervalNanos;
+
+		Phaser inFlight = new Phaser(1);
+		AtomicInteger pending = new AtomicInteger();
+		long maxDispatchLagNanos = 0;
+		long start = System.nanoTime();
+		long measureStart = start + warmup.toNanos();
+
+		try {
+			for(long i = 0; i < total; i++) {
+				long intended = start + i * intervalNanos;
+				long wait;
+				while((wait = intended - System.nanoTime()) > 0)
+					LockSupport.parkNanos(wait);
+				maxDispatchLagNanos = Math.max(maxDispatchLagNanos, System.nanoTime() - intended);
+
+				LoadOperation op = pick(random);
+				OperationStats s = stats.get(op.name());
+				boolean recorded = i >= warmupRequests;
+
+				// Modelo aberto: não bloqueia esperando vaga; acima do limite a chegada é descartada e contada
+				if(pending.get() >= maxInFlight) {
+					if(recorded)
+						s.dropped.increment();
+					continue;
+				}
+				HttpRequest request;
+				try {
+					request = HttpRequest.newBuilder(op.request().apply(baseUri, random), (n, v) -> true)
+							.timeout(requestTimeout).build();
+				}
+				catch(RuntimeException e) {
+					if(recorded)
+						s.failures.increment();
+					continue;
+				}
+				pending.incrementAndGet();
+				inFlight.register();
+				client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+					try {
+						if(recorded) {
+							long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended), HIGHEST_TRACKABLE_MICROS);
+							if(error != null)
+								s.failures.increment();
+							else {
+								s.latency.recordValue(micros);
+								s.statuses.computeIfAbsent(response.statusCode(), x -> new LongAdder()).increment();
+							}
+						}
+					}
+					finally {
+						pending.decrementAndGet();
+						inFlight.arriveAndDeregister();
+					}
+				});
+			}
+			long measureEnd = System.nanoTime();
+			try {
+				inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), requestTimeout.toMillis() + 1000, TimeUnit.MILLISECONDS);
+			}
+			catch(Exception e) {
+				// respostas que não chegaram a tempo ficam de fora; o limite já é o timeout da requisição
+			}
+			return LoadTestReport.of(ratePerSecond, Duration.ofNanos(measureEnd - measureStart),
+					Duration.ofNanos(maxDispatchLagNanos), stats);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private LoadOperation pick(SplittableRandom random) {
+		int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+		for(int i = 0; i < cumulativeWeights.length; i++) {
+			if(r < cumulativeWeights[i])
+				return operations.get(i);
+		}
+		return operations.get(operations.size() - 1);
+	}
+
+	static class OperationStats {
+		final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+		final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+		final LongAdder failures = new LongAdder();
+		final LongAdder dropped = new LongAdder();
+	}
+}
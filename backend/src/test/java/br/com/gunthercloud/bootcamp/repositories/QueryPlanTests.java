@@ -0,0 +1,136 @@
+package br.com.gunthercloud.bootcamp.repositories;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.gunthercloud.bootcamp.config.SqlStatementCounter;
+import br.com.gunthercloud.bootcamp.entitites.Product;
+import br.com.gunthercloud.bootcamp.entitites.User;
+import jakarta.persistence.EntityManager;
+
+// Confere via EXPLAIN (H2) que as consultas quentes usam os índices das migrations.
+// O SQL explicado é o que o Hibernate gerou (capturado pelo SqlStatementInspector) para as consultas que a
+// API de fato dispara: listagens ordenadas, categorias do produto, roles da página de usuários e login por email.
+@DataJpaTest
+public class QueryPlanTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	// Sem cache L2 nem query cache: toda chamada precisa chegar ao banco para ser capturada
+	@BeforeEach
+	void setUp() {
+		entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictAllRegions();
+		entityManager.clear();
+	}
+
+	// Mesma ordenação que o ProductService manda ao banco: o campo pedido com id como desempate
+	@Test
+	public void productListingByNameShouldReadIndexInOrder() {
+		assertSortedByIndex(capture(() -> productRepository.findAllBy(PageRequest.of(0, 12, Sort.by("name", "id"))), "tb_product"), "IX_PRODUCT_NAME");
+	}
+
+	@Test
+	public void productListingByPriceShouldReadIndexInOrder() {
+		assertSortedByIndex(capture(() -> productRepository.findAllBy(PageRequest.of(0, 12, Sort.by("price", "id"))), "tb_product"), "IX_PRODUCT_PRICE");
+	}
+
+	@Test
+	public void productListingByDateShouldReadIndexInOrder() {
+		assertSortedByIndex(capture(() -> productRepository.findAllBy(PageRequest.of(0, 12, Sort.by("date", "id"))), "tb_product"), "IX_PRODUCT_DATE");
+	}
+
+	@Test
+	public void categoryListingByNameShouldReadIndexInOrder() {
+		assertSortedByIndex(capture(() -> categoryRepository.findAll(PageRequest.of(0, 12, Sort.by("name"))), "tb_category"), "IX_CATEGORY_NAME");
+	}
+
+	@Test
+	public void userListingByFirstNameShouldReadIndexInOrder() {
+		assertSortedByIndex(capture(() -> userRepository.findAll(PageRequest.of(0, 12, Sort.by("firstName"))), "tb_user"), "IX_USER_FIRST_NAME");
+	}
+
+	@Test
+	public void categoriesOfProductShouldSeekPrimaryKey() {
+		String sql = capture(() -> entityManager.find(Product.class, 1L).getCategories().size(), "tb_product_category");
+		assertSeeksIndex(explain(sql, 1L), "PRIMARY_KEY_");
+	}
+
+	@Test
+	public void rolesOfUserPageShouldSeekPrimaryKey() {
+		User user = userRepository.findById(1L).get();
+		entityManager.clear();
+		String sql = capture(() -> userRepository.findUsersWithRoles(List.of(user)), "tb_user_role");
+		assertSeeksIndex(explain(sql, 1L), "PRIMARY_KEY_");
+	}
+
+	@Test
+	public void findByEmailShouldSeekUniqueIndex() {
+		String sql = capture(() -> userRepository.findByEmail("Maria@Gmail.com"), "tb_user");
+		assertSeeksIndex(explain(sql, "Maria@Gmail.com"), "UK_USER_EMAIL_LOWER");
+	}
+
+	@Test
+	public void findByEmailShouldIgnoreCase() {
+
+		User user = userRepository.findByEmail("MARIA@gmail.com");
+
+		Assertions.assertNotNull(user);
+		Assertions.assertEquals("maria@gmail.com", user.getEmail());
+	}
+
+	// Único statement da chamada que menciona a tabela
+	private String capture(Runnable call, String table) {
+		SqlStatementCounter.Context context = SqlStatementCounter.start();
+		try {
+			call.run();
+		}
+		finally {
+			SqlStatementCounter.stop(context);
+		}
+		var statements = context.getShapes().keySet().stream().filter(x -> x.toLowerCase().contains(table)).toList();
+		Assertions.assertEquals(1, statements.size(), context.getShapes().toString());
+		return statements.get(0);
+	}
+
+	// Os parâmetros da paginação (offset/limit) são todos inteiros
+	private void assertSortedByIndex(String sql, String index) {
+		int params = (int) sql.chars().filter(x -> x == '?').count();
+		String plan = explain(sql, Collections.nCopies(params, 12).toArray());
+
+		Assertions.assertTrue(plan.contains(index), plan);
+		Assertions.assertTrue(plan.contains("index sorted"), plan);
+	}
+
+	// H2 mostra a condição usada no índice: /* PUBLIC.INDICE: COLUNA = ... */ (a PK vira PRIMARY_KEY_n)
+	private void assertSeeksIndex(String plan, String index) {
+		Assertions.assertTrue(plan.matches("(?s).*" + index + "\\w*: .*"), plan);
+		Assertions.assertFalse(plan.contains("tableScan"), plan);
+	}
+
+	private String explain(String sql, Object... args) {
+		return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+	}
+}
@@ -0,0 +1,113 @@
+package br.com.gunthercloud.bootcamp.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+import br.com.gunthercloud.bootcamp.entitites.dto.CategoryDTO;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class ContentNegotiationIT {
+
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private final ObjectMapper json = new ObjectMapper();
+	private final CBORMapper cbor = new CBORMapper();
+	private final SmileMapper smile = new SmileMapper();
+
+	@ParameterizedTest
+	@ValueSource(strings = { "/products?page=0&size=12&sort=name", "/categories", "/users/1" })
+	public void binaryFormatsShouldCarrySameDocumentAsJson(String uri) throws Exception {
+
+		byte[] jsonBody = body(uri, MediaType.APPLICATION_JSON);
+		byte[] cborBody = body(uri, MediaType.APPLICATION_CBOR);
+		byte[] smileBody = body(uri, SMILE);
+
+		JsonNode expected = json.readTree(jsonBody);
+		Assertions.assertEquals(expected, cbor.readTree(cborBody));
+		Assertions.assertEquals(expected, smile.readTree(smileBody));
+	}
+
+	@Test
+	public void binaryPageShouldBeSmallerThanJson() throws Exception {
+
+		String uri = "/products?page=0&size=25";
+
+		int jsonSize = body(uri, MediaType.APPLICATION_JSON).length;
+
+		Assertions.assertTrue(body(uri, MediaType.APPLICATION_CBOR).length < jsonSize);
+		Assertions.assertTrue(body(uri, SMILE).length < jsonSize);
+	}
+
+	@Test
+	public void jsonShouldRemainDefaultWithoutAccept() throws Exception {
+
+		mockMvc.perform(get("/categories"))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	public void requestBodyShouldBeAcceptedInCbor() throws Exception {
+
+		byte[] response = mockMvc.perform(post("/categories")
+				.contentType(MediaType.APPLICATION_CBOR)
+				.accept(MediaType.APPLICATION_CBOR)
+				.content(cbor.writeValueAsBytes(new CategoryDTO(null, "Binária"))))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsByteArray();
+
+		CategoryDTO created = cbor.readValue(response, CategoryDTO.class);
+		Assertions.assertNotNull(created.getId());
+		Assertions.assertEquals("Binária", created.getName());
+	}
+
+	@Test
+	public void requestBodyShouldBeAcceptedInSmileAndValidated() throws Exception {
+
+		String user = "{\"firstName\":\"Smile\",\"lastName\":\"Cliente\",\"email\":\"smile@gmail.com\",\"password\":\"123456\",\"roles\":[{\"id\":1}]}";
+
+		mockMvc.perform(post("/users")
+				.contentType(SMILE)
+				.accept(SMILE)
+				.content(smile.writeValueAsBytes(json.readTree(user))))
+			.andExpect(status().isCreated())
+			.andExpect(content().contentTypeCompatibleWith(SMILE));
+
+		mockMvc.perform(post("/users")
+				.contentType(SMILE)
+				.accept(SMILE)
+				.content(smile.writeValueAsBytes(json.readTree(user.replace("smile@gmail.com", "invalido")))))
+			.andExpect(status().isUnprocessableEntity())
+			.andExpect(content().contentTypeCompatibleWith(SMILE));
+	}
+
+	private byte[] body(String uri, MediaType mediaType) throws Exception {
+		return mockMvc.perform(get(uri).accept(mediaType))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(mediaType))
+			.andReturn().getResponse().getContentAsByteArray();
+	}
+}
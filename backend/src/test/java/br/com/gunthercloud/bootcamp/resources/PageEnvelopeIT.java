@@ -0,0 +1,46 @@
+package br.com.gunthercloud.bootcamp.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class PageEnvelopeIT {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private final ObjectMapper json = new ObjectMapper();
+
+	@ParameterizedTest
+	@ValueSource(strings = { "/products?page=0&size=2&sort=name", "/categories?page=0&size=2", "/users?page=0&size=2" })
+	public void listingShouldReturnCompactEnvelope(String uri) throws Exception {
+
+		String body = mockMvc.perform(get(uri)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		JsonNode page = json.readTree(body);
+
+		List<String> names = new ArrayList<>();
+		page.fieldNames().forEachRemaining(names::add);
+		Assertions.assertEquals(List.of("content", "page", "size", "totalElements"), names);
+		Assertions.assertEquals(0, page.get("page").asInt());
+		Assertions.assertEquals(2, page.get("size").asInt());
+		Assertions.assertEquals(2, page.get("content").size());
+		Assertions.assertTrue(page.get("content").get(0).has("id"));
+	}
+}
@@ -28,6 +28,7 @@ import org.springframework.test.web.servlet.ResultActions;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.com.gunthercloud.bootcamp.entitites.dto.ProductDTO;
+import br.com.gunthercloud.bootcamp.events.ProductChangeStream;
 import br.com.gunthercloud.bootcamp.repositories.tests.Factory;
 import br.com.gunthercloud.bootcamp.services.ProductService;
 import br.com.gunthercloud.bootcamp.services.exceptions.DatabaseException;
@@ -42,6 +43,9 @@ public class ProductResourceTests {
 	@MockitoBean
 	private ProductService service;
 	
+	@MockitoBean
+	private ProductChangeStream productChangeStream;
+	
 	@Autowired
 	private ObjectMapper objectMapper;
 
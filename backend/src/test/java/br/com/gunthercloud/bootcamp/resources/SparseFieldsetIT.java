@@ -0,0 +1,110 @@
+package br.com.gunthercloud.bootcamp.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.gunthercloud.bootcamp.config.SqlStatementCounter;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class SparseFieldsetIT {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private final ObjectMapper json = new ObjectMapper();
+
+	@Test
+	public void listingShouldReturnOnlyRequestedFieldsInCanonicalOrder() throws Exception {
+
+		JsonNode first = page("/products?page=0&size=5&sort=name&fields=price,name,id").get("content").get(0);
+
+		Assertions.assertEquals(List.of("id", "name", "price"), names(first));
+	}
+
+	@Test
+	public void listingShouldNotSelectUnrequestedColumnsNorJoinCategories() throws Exception {
+
+		SqlStatementCounter.Context sql = SqlStatementCounter.start();
+		try {
+			page("/products?page=0&size=5&sort=name&fields=id,name,price");
+		}
+		finally {
+			SqlStatementCounter.stop(sql);
+		}
+
+		String statements = String.join("\n", sql.getShapes().keySet()).toLowerCase();
+		Assertions.assertFalse(statements.contains("description"), statements);
+		Assertions.assertFalse(statements.contains("tb_product_category"), statements);
+	}
+
+	@Test
+	public void categoriesShouldBeLoadedOnlyWhenRequested() throws Exception {
+
+		SqlStatementCounter.Context sql = SqlStatementCounter.start();
+		JsonNode content;
+		try {
+			content = page("/products?page=0&size=5&sort=name&fields=name,categories").get("content");
+		}
+		finally {
+			SqlStatementCounter.stop(sql);
+		}
+
+		Assertions.assertEquals(List.of("name", "categories"), names(content.get(0)));
+		Assertions.assertTrue(content.get(0).get("categories").get(0).has("name"));
+		// Página, contagem e uma consulta de categorias para a página inteira
+		Assertions.assertTrue(sql.getCount() <= 3, sql.getShapes().toString());
+	}
+
+	@Test
+	public void findByIdShouldReturnOnlyRequestedFields() throws Exception {
+
+		mockMvc.perform(get("/products/1?fields=name,description"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").exists())
+				.andExpect(jsonPath("$.description").exists())
+				.andExpect(jsonPath("$.id").doesNotExist())
+				.andExpect(jsonPath("$.categories").doesNotExist());
+	}
+
+	@Test
+	public void findByIdShouldReturnNotFoundWhenIdDoesNotExist() throws Exception {
+
+		mockMvc.perform(get("/products/1000?fields=name")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	public void unknownFieldShouldReturnUnprocessableEntity() throws Exception {
+
+		mockMvc.perform(get("/products?fields=name,password"))
+				.andExpect(status().isUnprocessableEntity())
+				.andExpect(jsonPath("$.field[0].fieldName").value("fields"));
+	}
+
+	private JsonNode page(String uri) throws Exception {
+		String body = mockMvc.perform(get(uri)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		return json.readTree(body);
+	}
+
+	private List<String> names(JsonNode node) {
+		List<String> names = new ArrayList<>();
+		node.fieldNames().forEachRemaining(names::add);
+		return names;
+	}
+}
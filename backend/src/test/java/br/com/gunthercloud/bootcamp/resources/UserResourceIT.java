@@ -0,0 +1,54 @@
+package br.com.gunthercloud.bootcamp.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.gunthercloud.bootcamp.config.SqlStatementCounterExtension;
+import br.com.gunthercloud.bootcamp.config.SqlStatementFilter;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class UserResourceIT {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@RegisterExtension
+	SqlStatementCounterExtension sql = new SqlStatementCounterExtension();
+
+	@Test
+	public void findAllShouldStayWithinStatementBudget() throws Exception {
+
+		var result = mockMvc.perform(get("/users?page=0&size=10")
+			.accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.content[1].roles.length()").value(2));
+		result.andExpect(header().string(SqlStatementFilter.COUNT_HEADER, "2"));
+		sql.assertAtMost(2);
+		sql.assertNoNPlusOne();
+	}
+
+	@Test
+	public void findByIdShouldUseOneStatement() throws Exception {
+
+		var result = mockMvc.perform(get("/users/{id}", 2L)
+			.accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(header().exists(SqlStatementFilter.TIME_HEADER));
+		sql.assertAtMost(1);
+	}
+}
@@ -0,0 +1,106 @@
+package br.com.gunthercloud.bootcamp.services;
+
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import br.com.gunthercloud.bootcamp.services.exceptions.TooManyRequestsException;
+
+public class PasswordHasherTests {
+
+	private BCryptPasswordEncoder encoder;
+	private PasswordHasher hasher;
+	private CountDownLatch release;
+	private ExecutorService callers;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		encoder = Mockito.mock(BCryptPasswordEncoder.class);
+		release = new CountDownLatch(1);
+		callers = Executors.newCachedThreadPool();
+		// 1 thread + fila de 1 posição
+		hasher = new PasswordHasher(encoder, 1, 1, 5000L, 2L);
+
+		when(encoder.encode(ArgumentMatchers.any())).thenAnswer(x -> {
+			release.await(5, TimeUnit.SECONDS);
+			return "hash";
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		callers.shutdownNow();
+		hasher.shutdown();
+	}
+
+	@Test
+	@DisplayName("encode deveria retornar o hash calculado pelo encoder")
+	public void encodeShouldReturnHash() {
+
+		release.countDown();
+
+		Assertions.assertEquals("hash", hasher.encode("123456"));
+	}
+
+	@Test
+	@DisplayName("encode deveria lançar TooManyRequestsException quando a fila estiver cheia")
+	public void encodeShouldThrowTooManyRequestsExceptionWhenQueueIsFull() throws Exception {
+
+		callers.submit(() -> hasher.encode("a"));
+		callers.submit(() -> hasher.encode("b"));
+		Thread.sleep(200);
+
+		TooManyRequestsException e = Assertions.assertThrows(TooManyRequestsException.class, () -> {
+			hasher.encode("c");
+		});
+		Assertions.assertEquals(2L, e.getRetryAfterSeconds());
+	}
+
+	@Test
+	@DisplayName("encodeAll deveria lançar TooManyRequestsException quando outra carga em massa não terminar a tempo")
+	public void encodeAllShouldThrowTooManyRequestsExceptionWhenAnotherBulkIsRunning() throws Exception {
+
+		PasswordHasher hasher = new PasswordHasher(encoder, 1, 1, 200L, 2L);
+		try {
+			callers.submit(() -> hasher.encodeAll(List.of("a", "b", "c")));
+			Thread.sleep(100);
+
+			Assertions.assertThrows(TooManyRequestsException.class, () -> {
+				hasher.encodeAll(List.of("d"));
+			});
+		}
+		finally {
+			hasher.shutdown();
+		}
+	}
+
+	@Test
+	@DisplayName("encodeAll deveria deixar lugar na fila para os cadastros avulsos")
+	public void encodeAllShouldLeaveQueueRoomForSingleEncode() throws Exception {
+
+		Future<List<String>> bulk = callers.submit(() -> hasher.encodeAll(List.of("a", "b", "c")));
+		Thread.sleep(100);
+
+		Future<String> single = callers.submit(() -> hasher.encode("x"));
+		Thread.sleep(100);
+		release.countDown();
+
+		Assertions.assertEquals("hash", single.get(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(List.of("hash", "hash", "hash"), bulk.get(5, TimeUnit.SECONDS));
+	}
+}
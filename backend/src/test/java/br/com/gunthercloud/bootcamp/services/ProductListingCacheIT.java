@@ -0,0 +1,164 @@
+package br.com.gunthercloud.bootcamp.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gunthercloud.bootcamp.entitites.dto.ProductDTO;
+import br.com.gunthercloud.bootcamp.repositories.ProductRepository;
+import br.com.gunthercloud.bootcamp.repositories.tests.Factory;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:listing_it", "app.products.listing.enabled=true",
+		"app.products.listing.debounce-ms=50" })
+public class ProductListingCacheIT {
+
+	private static final Pageable FIRST_BY_NAME = PageRequest.of(0, 12, Sort.by("name"));
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductListingCache listingCache;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() throws InterruptedException {
+		awaitPage(FIRST_BY_NAME, x -> true);
+	}
+
+	@Test
+	public void hotPageShouldBeServedWithoutQueryingDatabase() {
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		long statements = statistics.getPrepareStatementCount();
+
+		Page<ProductDTO> page = productService.findAllPaged(FIRST_BY_NAME);
+
+		Assertions.assertEquals(statements, statistics.getPrepareStatementCount());
+		Assertions.assertEquals(productRepository.count(), page.getTotalElements());
+		Assertions.assertEquals(productRepository.findAll(ProductService.withIdTieBreaker(FIRST_BY_NAME)).map(x -> x.getId()).getContent(),
+				page.map(ProductDTO::getId).getContent());
+	}
+
+	@Test
+	public void defaultUnsortedPageShouldBeMaterialized() {
+
+		Pageable unsorted = PageRequest.of(0, 20, Sort.unsorted());
+
+		Assertions.assertTrue(listingCache.isMaterialized(unsorted));
+		Assertions.assertEquals(productRepository.findAll(ProductService.withIdTieBreaker(unsorted)).map(x -> x.getId()).getContent(),
+				listingCache.get(unsorted).map(ProductDTO::getId).getContent());
+	}
+
+	@Test
+	public void otherPagesShouldFallThroughToDatabase() {
+
+		Pageable cold = PageRequest.of(5, 12, Sort.by("name"));
+
+		Assertions.assertNull(listingCache.get(cold));
+		Assertions.assertNull(listingCache.get(PageRequest.of(0, 7, Sort.by("name"))));
+		Assertions.assertEquals(0, productService.findAllPaged(cold).getNumberOfElements());
+	}
+
+	@Test
+	public void writeShouldRebuildPagesAfterDebounce() throws InterruptedException {
+
+		long total = productRepository.count();
+		ProductDTO dto = Factory.createProductDTO();
+		dto.setName("AAA Primeiro da lista");
+		ProductDTO inserted = productService.insert(dto);
+
+		Page<ProductDTO> page = awaitPage(FIRST_BY_NAME, x -> x.getTotalElements() == total + 1);
+
+		Assertions.assertEquals(inserted.getId(), page.getContent().get(0).getId());
+		productService.delete(inserted.getId());
+		awaitPage(FIRST_BY_NAME, x -> x.getTotalElements() == total);
+	}
+
+	@Test
+	public void dirtySnapshotShouldStopBeingServedAfterStalenessBound() throws InterruptedException {
+
+		Page<ProductDTO> page = new PageImpl<>(List.of(), FIRST_BY_NAME, 0);
+		ProductListingCache cache = standalone(page, 100L);
+		try {
+			cache.invalidate();
+			Assertions.assertSame(page, cache.get(FIRST_BY_NAME));
+
+			Thread.sleep(150);
+			Assertions.assertNull(cache.get(FIRST_BY_NAME));
+		}
+		finally {
+			cache.shutdown();
+		}
+	}
+
+	@Test
+	public void writerShouldInvalidateOnCommitWithoutWaitingForBus() throws InterruptedException {
+
+		Page<ProductDTO> page = new PageImpl<>(List.of(), FIRST_BY_NAME, 0);
+		ProductListingCache cache = standalone(page, 0L);
+		try {
+			new TransactionTemplate(transactionManager).executeWithoutResult(x -> {
+				cache.invalidateAfterCommit();
+				Assertions.assertSame(page, cache.get(FIRST_BY_NAME));
+			});
+
+			Thread.sleep(5);
+			Assertions.assertNull(cache.get(FIRST_BY_NAME));
+		}
+		finally {
+			cache.shutdown();
+		}
+	}
+
+	// Instância avulsa: reconstrução adiada para bem depois do limite de staleness
+	@SuppressWarnings("unchecked")
+	private ProductListingCache standalone(Page<ProductDTO> page, long maxStalenessMillis) {
+		ProductListingCache cache = new ProductListingCache();
+		ReflectionTestUtils.setField(cache, "enabled", true);
+		ReflectionTestUtils.setField(cache, "debounceMillis", 60000L);
+		ReflectionTestUtils.setField(cache, "maxStalenessMillis", maxStalenessMillis);
+		ReflectionTestUtils.setField(cache, "registry", Mockito.mock(ObjectProvider.class));
+		ReflectionTestUtils.setField(cache, "snapshot", Map.of(ProductService.withIdTieBreaker(FIRST_BY_NAME), page));
+		return cache;
+	}
+
+	private Page<ProductDTO> awaitPage(Pageable pageable, Predicate<Page<ProductDTO>> condition)
+			throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while(System.currentTimeMillis() < deadline) {
+			Page<ProductDTO> page = listingCache.get(pageable);
+			if(page != null && condition.test(page))
+				return page;
+			Thread.sleep(20);
+		}
+		throw new AssertionError("Page " + pageable + " was not materialized");
+	}
+}
@@ -1,5 +1,8 @@
 package br.com.gunthercloud.bootcamp.services;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,8 +13,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.com.gunthercloud.bootcamp.entitites.dto.CategoryDTO;
 import br.com.gunthercloud.bootcamp.entitites.dto.ProductDTO;
 import br.com.gunthercloud.bootcamp.repositories.ProductRepository;
+import br.com.gunthercloud.bootcamp.repositories.tests.Factory;
 import br.com.gunthercloud.bootcamp.services.exceptions.ResourceNotFoundException;
 
 @SpringBootTest
@@ -92,4 +97,33 @@ public class ProductServiceIT {
 		
 	}
 	
+	@Test
+	public void findAllPagedShouldBreakTiesById() {
+		
+		List<Long> ids = new ArrayList<>();
+		for(int i = 0; i < 3; i++) {
+			ProductDTO dto = Factory.createProductDTO();
+			dto.setId(null);
+			dto.setName("AAA Mesmo nome");
+			ids.add(service.insert(dto).getId());
+		}
+		
+		List<Long> paged = new ArrayList<>();
+		for(int i = 0; i < 3; i++)
+			paged.add(service.findAllPaged(PageRequest.of(i, 1, Sort.by("name"))).getContent().get(0).getId());
+		
+		Assertions.assertEquals(ids, paged);
+	}
+	
+	@Test
+	public void updateShouldThrowResourceNotFoundExceptionWhenCategoryDoesNotExist() {
+		
+		ProductDTO dto = service.findById(existingId);
+		dto.getCategories().add(new CategoryDTO(nonExistingId, "Books"));
+		
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+			service.update(existingId, dto);
+		});
+	}
+	
 }
@@ -2,10 +2,12 @@ package br.com.gunthercloud.bootcamp.services;
 
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,12 +24,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import br.com.gunthercloud.bootcamp.entitites.Category;
 import br.com.gunthercloud.bootcamp.entitites.Product;
+import br.com.gunthercloud.bootcamp.entitites.dto.CategoryDTO;
 import br.com.gunthercloud.bootcamp.entitites.dto.ProductDTO;
+import br.com.gunthercloud.bootcamp.events.ChangeEventPublisher;
 import br.com.gunthercloud.bootcamp.repositories.CategoryRepository;
+import br.com.gunthercloud.bootcamp.repositories.ProductProjectionRepository;
 import br.com.gunthercloud.bootcamp.repositories.ProductRepository;
 import br.com.gunthercloud.bootcamp.repositories.tests.Factory;
 import br.com.gunthercloud.bootcamp.services.exceptions.DatabaseException;
@@ -42,9 +49,21 @@ public class ProductServiceTests {
 	@Mock
 	private ProductRepository repository;
 	
+	@Mock
+	private ProductProjectionRepository projectionRepository;
+
 	@Mock
 	private CategoryRepository categoryRepository;
 	
+	@Mock
+	private ChangeEventPublisher changeEvents;
+	
+	@Mock
+	private PlatformTransactionManager transactionManager;
+	
+	@Mock
+	private ProductListingCache listingCache;
+	
 	private long existingId;
 	private long nonExistingId;
 	private long dependentId;
@@ -70,8 +89,13 @@ public class ProductServiceTests {
 
 		when(repository.getReferenceById(existingId)).thenReturn(product);
 		
-		when(categoryRepository.getReferenceById(existingId)).thenReturn(category);
-		when(categoryRepository.getReferenceById(nonExistingId)).thenThrow(ResourceNotFoundException.class);
+		when(categoryRepository.findAllById(ArgumentMatchers.any())).thenAnswer(x -> {
+			List<Category> list = new ArrayList<>();
+			for(Long id : x.<Iterable<Long>>getArgument(0))
+				if(id == existingId)
+					list.add(category);
+			return list;
+		});
 		
 		when(repository.save(ArgumentMatchers.any())).thenReturn(product); // Quando eu chamar repository.save(ArgumentMatchers.any()) é pra retornar o product
 
@@ -98,6 +122,18 @@ public class ProductServiceTests {
 		Assertions.assertNotNull(obj);
 	}
 
+	@Test
+	@DisplayName("update deveria lançar ResourceNotFoundException quando a categoria não existir")
+	public void updateShouldThrowResourceNotFoundExceptionWhenCategoryDoesNotExist() {
+		ProductDTO dto = Factory.createProductDTO();
+		dto.getCategories().add(new CategoryDTO(nonExistingId, "Books"));
+		
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+			service.update(existingId, dto);
+		});
+		verify(repository, never()).save(ArgumentMatchers.any());
+	}
+
 	@Test
 	@DisplayName("delete deveria fazer nada quando id existe")
 	public void deleteShouldDoNothingWhenIdExists() {
@@ -140,7 +176,7 @@ public class ProductServiceTests {
 		
 		Page<ProductDTO> product = service.findAllPaged(pageable);
 
-		verify(repository, times(1)).findAll(pageable);
+		verify(repository, times(1)).findAll(PageRequest.of(0, 10, Sort.by("id")));
 		Assertions.assertNotNull(product);
 	}
 	
@@ -0,0 +1,52 @@
+package br.com.gunthercloud.bootcamp.services;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.gunthercloud.bootcamp.entitites.Role;
+import br.com.gunthercloud.bootcamp.repositories.RoleRepository;
+
+@ExtendWith(SpringExtension.class)
+public class RoleCacheTests {
+
+	@InjectMocks
+	private RoleCache roleCache;
+
+	@Mock
+	private RoleRepository roleRepository;
+
+	@Test
+	public void refreshShouldBeReusedUntilInvalidated() {
+
+		when(roleRepository.findAll()).thenReturn(List.of(new Role(1L, "ROLE_OPERATOR")));
+
+		roleCache.contains(1L);
+		roleCache.contains(1L);
+
+		verify(roleRepository, times(1)).findAll();
+	}
+
+	@Test
+	public void refreshRacingWithInvalidateShouldNotPublishStaleMap() {
+
+		// invalidate() chega enquanto a recarga ainda monta o mapa antigo
+		when(roleRepository.findAll()).then(x -> {
+			roleCache.invalidate();
+			return List.of(new Role(1L, "ROLE_OPERATOR"));
+		}).thenReturn(List.of(new Role(1L, "ROLE_OPERATOR"), new Role(2L, "ROLE_ADMIN")));
+
+		Assertions.assertFalse(roleCache.contains(2L));
+		Assertions.assertTrue(roleCache.contains(2L));
+		verify(roleRepository, times(2)).findAll();
+	}
+}
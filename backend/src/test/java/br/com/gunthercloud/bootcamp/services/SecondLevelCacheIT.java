@@ -0,0 +1,97 @@
+package br.com.gunthercloud.bootcamp.services;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gunthercloud.bootcamp.entitites.dto.CategoryDTO;
+import br.com.gunthercloud.bootcamp.repositories.RoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+// Sem @Transactional na classe: cada chamada roda em sua própria sessão, senão o
+// primeiro nível (contexto de persistência) responde antes do segundo
+@SpringBootTest
+public class SecondLevelCacheIT {
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAll();
+		statistics.clear();
+	}
+
+	@Test
+	public void categoryShouldBeServedFromCacheOnSecondRead() {
+
+		categoryService.findById(1L);
+		long statements = statistics.getPrepareStatementCount();
+		categoryService.findById(1L);
+
+		Assertions.assertEquals(statements, statistics.getPrepareStatementCount());
+		Assertions.assertEquals(1, statistics.getDomainDataRegionStatistics("category").getHitCount());
+	}
+
+	@Test
+	public void roleShouldBeServedFromCacheOnSecondRead() {
+
+		transactionTemplate.executeWithoutResult(x -> roleRepository.findById(1L));
+		transactionTemplate.executeWithoutResult(x -> roleRepository.findById(1L));
+
+		Assertions.assertEquals(1, statistics.getDomainDataRegionStatistics("role").getHitCount());
+	}
+
+	@Test
+	public void productCategoriesCollectionShouldBeCached() {
+
+		productService.findById(1L);
+		productService.findById(1L);
+
+		Assertions.assertTrue(statistics.getDomainDataRegionStatistics("product.categories").getHitCount() >= 1);
+	}
+
+	@Test
+	public void categoryListingShouldUseQueryCache() {
+
+		categoryService.findAllPaged(PageRequest.of(0, 10));
+		categoryService.findAllPaged(PageRequest.of(0, 10));
+
+		Assertions.assertEquals(1, statistics.getQueryCacheHitCount());
+	}
+
+	@Test
+	public void updateShouldNotLeaveStaleCategoryInCache() {
+
+		CategoryDTO dto = categoryService.insert(new CategoryDTO(null, "Antes"));
+		categoryService.findById(dto.getId());
+
+		categoryService.update(dto.getId(), new CategoryDTO(null, "Depois"));
+		categoryService.findAllPaged(PageRequest.of(0, 10));
+
+		Assertions.assertEquals("Depois", categoryService.findById(dto.getId()).getName());
+		Assertions.assertTrue(categoryService.findAllPaged(PageRequest.of(0, 10)).getContent().stream()
+				.anyMatch(x -> "Depois".equals(x.getName())));
+	}
+}
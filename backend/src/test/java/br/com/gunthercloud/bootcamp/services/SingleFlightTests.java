@@ -0,0 +1,119 @@
+package br.com.gunthercloud.bootcamp.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import br.com.gunthercloud.bootcamp.services.exceptions.ResourceNotFoundException;
+import br.com.gunthercloud.bootcamp.services.exceptions.ServiceUnavailableException;
+
+public class SingleFlightTests {
+
+	private final SingleFlight<Long, String> flights = new SingleFlight<>();
+	private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void concurrentCallsWithSameKeyShouldShareOneLoad() throws Exception {
+
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		List<Future<String>> results = new ArrayList<>();
+		results.add(executor.submit(() -> flights.execute(1L, 5000, () -> {
+			loads.incrementAndGet();
+			await(release);
+			return "produto";
+		})));
+		awaitInFlight();
+		for(int i = 0; i < 7; i++)
+			results.add(executor.submit(() -> flights.execute(1L, 5000, () -> {
+				loads.incrementAndGet();
+				return "outro";
+			})));
+		// Libera o líder só com os seguidores já esperando: nenhum chega atrasado e carrega de novo
+		awaitWaiting(7);
+		release.countDown();
+
+		for(Future<String> result : results)
+			Assertions.assertEquals("produto", result.get(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(1, loads.get());
+		Assertions.assertEquals(0, flights.size());
+	}
+
+	@Test
+	public void leaderExceptionShouldPropagateToWaitingCalls() throws Exception {
+
+		CountDownLatch release = new CountDownLatch(1);
+		Future<String> leader = executor.submit(() -> flights.execute(1L, 5000, () -> {
+			await(release);
+			throw new ResourceNotFoundException("Id 1 not found!");
+		}));
+		awaitInFlight();
+		Future<String> follower = executor.submit(() -> flights.execute(1L, 5000, () -> "nunca"));
+		awaitWaiting(1);
+		release.countDown();
+
+		for(Future<String> result : List.of(leader, follower)) {
+			Exception e = Assertions.assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+			Assertions.assertInstanceOf(ResourceNotFoundException.class, e.getCause());
+		}
+		Assertions.assertEquals("depois", flights.execute(1L, 5000, () -> "depois"));
+	}
+
+	@Test
+	public void waitingCallShouldTimeOutWithoutAffectingLeader() throws Exception {
+
+		CountDownLatch release = new CountDownLatch(1);
+		Future<String> leader = executor.submit(() -> flights.execute(1L, 5000, () -> {
+			await(release);
+			return "produto";
+		}));
+		awaitInFlight();
+
+		Assertions.assertThrows(ServiceUnavailableException.class, () -> flights.execute(1L, 50, () -> "nunca"));
+		release.countDown();
+		Assertions.assertEquals("produto", leader.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void differentKeysShouldNotBeCoalesced() {
+
+		Assertions.assertEquals("1", flights.execute(1L, 5000, () -> "1"));
+		Assertions.assertEquals("2", flights.execute(2L, 5000, () -> "2"));
+	}
+
+	private void awaitInFlight() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while(flights.size() == 0 && System.currentTimeMillis() < deadline)
+			Thread.sleep(5);
+	}
+
+	private void awaitWaiting(int expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while(flights.waiting() < expected && System.currentTimeMillis() < deadline)
+			Thread.sleep(5);
+		Assertions.assertEquals(expected, flights.waiting());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,376 @@
+package br.com.gunthercloud.bootcamp.services;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gunthercloud.bootcamp.entitites.Role;
+import br.com.gunthercloud.bootcamp.entitites.User;
+import br.com.gunthercloud.bootcamp.entitites.dto.RoleDTO;
+import br.com.gunthercloud.bootcamp.entitites.dto.UserBulkItemDTO;
+import br.com.gunthercloud.bootcamp.entitites.dto.UserDTO;
+import br.com.gunthercloud.bootcamp.entitites.dto.UserInsertDTO;
+import br.com.gunthercloud.bootcamp.entitites.dto.UserUpdateDTO;
+import br.com.gunthercloud.bootcamp.repositories.RoleRepository;
+import br.com.gunthercloud.bootcamp.repositories.UserRepository;
+import br.com.gunthercloud.bootcamp.services.exceptions.FieldValidationException;
+import br.com.gunthercloud.bootcamp.services.exceptions.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class UserServiceIT {
+
+	@Autowired
+	private UserService service;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RoleCache roleCache;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Statistics statistics;
+	private Long existingId;
+	private Long existingRoleId;
+	private Long nonExistingRoleId;
+	private long countTotalUsers;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		existingId = 2L;
+		existingRoleId = 2L;
+		nonExistingRoleId = 1000L;
+		countTotalUsers = 2L;
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	public void findAllPagedShouldLoadRolesOfWholePageInOneQuery() {
+
+		Page<UserDTO> page = service.findAllPaged(PageRequest.of(0, 10));
+
+		Assertions.assertEquals(countTotalUsers, page.getTotalElements());
+		Assertions.assertEquals(3, page.getContent().stream().mapToInt(x -> x.getRoles().size()).sum());
+		// 1 select da página + 1 select dos roles (sem count, a página não está cheia)
+		Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	public void findAllPagedShouldNotIssueQueryPerUserWhenPageIsFull() {
+
+		Page<UserDTO> page = service.findAllPaged(PageRequest.of(0, 1));
+
+		Assertions.assertEquals(1, page.getContent().size());
+		// 1 select da página + 1 count + 1 select dos roles
+		Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	public void findByIdShouldLoadUserAndRolesInOneQuery() {
+
+		UserDTO dto = service.findById(existingId);
+
+		Assertions.assertEquals(2, dto.getRoles().size());
+		Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	public void insertShouldResolveRoleAuthorityWithoutLoadingRoles() {
+
+		UserInsertDTO dto = new UserInsertDTO(null, "Bob", "Grey", "bob@gmail.com", "123456");
+		dto.getRoles().add(new RoleDTO(existingRoleId, null));
+
+		UserDTO result = service.insert(dto);
+
+		Assertions.assertEquals("ROLE_ADMIN", result.getRoles().iterator().next().getAuthority());
+		Assertions.assertEquals(0, statistics.getEntityStatistics(Role.class.getName()).getLoadCount());
+	}
+
+	@Test
+	public void insertShouldThrowResourceNotFoundExceptionWhenRoleDoesNotExist() {
+
+		UserInsertDTO dto = new UserInsertDTO(null, "Bob", "Grey", "bob@gmail.com", "123456");
+		dto.getRoles().add(new RoleDTO(nonExistingRoleId, null));
+
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+			service.insert(dto);
+		});
+	}
+
+	// Fora da transação do teste: a invalidação só acontece no commit
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void roleCacheShouldRefreshWhenRoleInsertIsCommitted() {
+
+		roleCache.contains(1L);
+		Role role = roleRepository.save(new Role(null, "ROLE_CLIENT"));
+		try {
+			Assertions.assertTrue(roleCache.contains(role.getId()));
+			Assertions.assertEquals("ROLE_CLIENT", roleCache.getAuthority(role.getId()));
+		}
+		finally {
+			roleRepository.deleteById(role.getId());
+		}
+		Assertions.assertFalse(roleCache.contains(role.getId()));
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void roleCacheShouldNotChangeWhenRoleInsertIsRolledBack() {
+
+		roleCache.contains(1L);
+		Long id = transactionTemplate.execute(x -> {
+			Role role = roleRepository.saveAndFlush(new Role(null, "ROLE_CLIENT"));
+			// Quem alterou enxerga a própria alteração
+			Assertions.assertTrue(roleCache.contains(role.getId()));
+			x.setRollbackOnly();
+			return role.getId();
+		});
+		statistics.clear();
+
+		Assertions.assertFalse(roleCache.contains(id));
+		// O mapa publicado antes continua valendo: nada foi recarregado
+		Assertions.assertEquals(0, statistics.getQueryExecutionCount());
+	}
+
+	@Test
+	public void insertBulkShouldInsertValidRowsAndReportInvalidOnes() {
+
+		UserInsertDTO ok = new UserInsertDTO(null, "Bob", "Grey", "bob@gmail.com", "123456");
+		ok.getRoles().add(new RoleDTO(existingRoleId, null));
+		UserInsertDTO existingEmail = new UserInsertDTO(null, "Alex", "Brown", "alex@gmail.com", "123456");
+		UserInsertDTO repeatedEmail = new UserInsertDTO(null, "Bobby", "Grey", "bob@gmail.com", "123456");
+		UserInsertDTO unknownRole = new UserInsertDTO(null, "Ana", "Blue", "ana@gmail.com", "123456");
+		unknownRole.getRoles().add(new RoleDTO(nonExistingRoleId, null));
+
+		List<UserBulkItemDTO> result = service.insertBulk(List.of(ok, existingEmail, repeatedEmail, unknownRole));
+
+		Assertions.assertEquals(4, result.size());
+		Assertions.assertNotNull(result.get(0).getId());
+		Assertions.assertNull(result.get(0).getError());
+		Assertions.assertNotNull(result.get(1).getError());
+		Assertions.assertNotNull(result.get(2).getError());
+		Assertions.assertNotNull(result.get(3).getError());
+		Assertions.assertEquals(countTotalUsers + 1, userRepository.count());
+		Assertions.assertEquals(1, userRepository.findWithRolesById(result.get(0).getId()).get().getRoles().size());
+	}
+
+	@Test
+	public void insertBulkShouldThrowFieldValidationExceptionWhenListIsTooLarge() {
+
+		UserInsertDTO dto = new UserInsertDTO(null, "Bob", "Grey", "bob@gmail.com", "123456");
+
+		FieldValidationException e = Assertions.assertThrows(FieldValidationException.class, () -> {
+			service.insertBulk(Collections.nCopies(5001, dto));
+		});
+		Assertions.assertEquals("users", e.getFieldName());
+		Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+	}
+
+	// Fora da transação do teste: cada lote roda e volta atrás na sua própria transação
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void insertBulkShouldReportOnlyRowsThatFailedInDatabase() {
+
+		UserInsertDTO first = new UserInsertDTO(null, "Bob", "Grey", "bob@gmail.com", "123456");
+		// Passa na validação, mas não cabe na coluna: derruba o lote inteiro
+		UserInsertDTO tooLong = new UserInsertDTO(null, "Ana", "B".repeat(300), "ana@gmail.com", "123456");
+		UserInsertDTO last = new UserInsertDTO(null, "Carl", "White", "carl@gmail.com", "123456");
+
+		List<UserBulkItemDTO> result = service.insertBulk(List.of(first, tooLong, last));
+		try {
+			Assertions.assertNull(result.get(0).getError());
+			Assertions.assertNotNull(result.get(0).getId());
+			Assertions.assertEquals("Database error", result.get(1).getError());
+			Assertions.assertNull(result.get(1).getId());
+			Assertions.assertNull(result.get(2).getError());
+			Assertions.assertEquals(countTotalUsers + 2, userRepository.count());
+		}
+		finally {
+			result.stream().filter(x -> x.getId() != null).forEach(x -> service.delete(x.getId()));
+		}
+	}
+
+	@Test
+	public void insertShouldThrowFieldValidationExceptionWhenEmailExists() {
+
+		UserInsertDTO dto = new UserInsertDTO(null, "Alex", "Brown", "alex@gmail.com", "123456");
+
+		FieldValidationException e = Assertions.assertThrows(FieldValidationException.class, () -> {
+			service.insert(dto);
+		});
+		Assertions.assertEquals("email", e.getFieldName());
+		Assertions.assertEquals(0, statistics.getQueryExecutionCount());
+	}
+
+	@Test
+	public void insertShouldThrowFieldValidationExceptionWhenEmailExistsWithDifferentCase() {
+
+		UserInsertDTO dto = new UserInsertDTO(null, "Alex", "Brown", "ALEX@Gmail.com", "123456");
+
+		FieldValidationException e = Assertions.assertThrows(FieldValidationException.class, () -> {
+			service.insert(dto);
+		});
+		Assertions.assertEquals("email", e.getFieldName());
+	}
+
+	@Test
+	public void insertBulkShouldReportNullItemAsRowError() {
+
+		UserInsertDTO ok = new UserInsertDTO(null, "Bob", "Grey", "bob@gmail.com", "123456");
+
+		List<UserBulkItemDTO> result = service.insertBulk(Arrays.asList(null, ok));
+
+		Assertions.assertEquals("item: Campo obrigatório", result.get(0).getError());
+		Assertions.assertNull(result.get(0).getId());
+		Assertions.assertNull(result.get(1).getError());
+		Assertions.assertEquals(countTotalUsers + 1, userRepository.count());
+	}
+
+	@Test
+	public void insertBulkShouldTreatEmailsDifferingOnlyInCaseAsDuplicates() {
+
+		UserInsertDTO existingEmail = new UserInsertDTO(null, "Alex", "Brown", "Alex@Gmail.com", "123456");
+		UserInsertDTO first = new UserInsertDTO(null, "Bob", "Grey", "Bob@gmail.com", "123456");
+		UserInsertDTO repeated = new UserInsertDTO(null, "Bobby", "Grey", "bob@GMAIL.com", "123456");
+
+		List<UserBulkItemDTO> result = service.insertBulk(List.of(existingEmail, first, repeated));
+
+		Assertions.assertNotNull(result.get(0).getError());
+		Assertions.assertNull(result.get(1).getError());
+		Assertions.assertNotNull(result.get(2).getError());
+		Assertions.assertEquals(countTotalUsers + 1, userRepository.count());
+	}
+
+	@Test
+	public void updateShouldThrowFieldValidationExceptionWhenEmailBelongsToAnotherUser() {
+
+		UserUpdateDTO dto = new UserUpdateDTO();
+		dto.setFirstName("Maria");
+		dto.setLastName("Green");
+		dto.setEmail("alex@gmail.com");
+
+		Assertions.assertThrows(FieldValidationException.class, () -> {
+			service.update(existingId, dto);
+		});
+	}
+
+	@Test
+	public void updateShouldKeepPasswordHash() {
+
+		String hash = userRepository.findById(existingId).get().getPassword();
+
+		UserUpdateDTO dto = new UserUpdateDTO();
+		dto.setFirstName("Mary");
+		dto.setLastName("Green");
+		dto.setEmail("maria@gmail.com");
+		dto.getRoles().add(new RoleDTO(1L, null));
+		dto.getRoles().add(new RoleDTO(2L, null));
+
+		UserDTO result = service.update(existingId, dto);
+
+		Assertions.assertEquals("Mary", result.getFirstName());
+		Assertions.assertEquals(2, result.getRoles().size());
+		Assertions.assertEquals(hash, userRepository.findById(existingId).get().getPassword());
+	}
+
+	@Test
+	public void updateShouldAddRoleAsManagedReference() {
+
+		UserUpdateDTO dto = new UserUpdateDTO();
+		dto.setFirstName("Alex");
+		dto.setLastName("Brown");
+		dto.setEmail("alex@gmail.com");
+		dto.getRoles().add(new RoleDTO(1L, null));
+		dto.getRoles().add(new RoleDTO(existingRoleId, null));
+
+		UserDTO result = service.update(1L, dto);
+
+		Assertions.assertEquals(2, result.getRoles().size());
+		Assertions.assertTrue(result.getRoles().stream().anyMatch(x -> "ROLE_ADMIN".equals(x.getAuthority())));
+		userRepository.findWithRolesById(1L).get().getRoles().forEach(x -> Assertions.assertTrue(entityManager.contains(x)));
+
+		entityManager.clear();
+		User user = userRepository.findWithRolesById(1L).get();
+		Assertions.assertEquals(2, user.getRoles().size());
+	}
+
+	@Test
+	public void updateShouldIssueSelectAndUpdateOnly() {
+
+		UserUpdateDTO dto = new UserUpdateDTO();
+		dto.setFirstName("Mary");
+		dto.setLastName("Green");
+		dto.setEmail("maria@gmail.com");
+		dto.getRoles().add(new RoleDTO(1L, null));
+		dto.getRoles().add(new RoleDTO(2L, null));
+
+		service.update(existingId, dto);
+
+		// select do usuário + update + insert do evento no outbox
+		Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	public void updateShouldApplyRoleDiff() {
+
+		UserUpdateDTO dto = new UserUpdateDTO();
+		dto.setFirstName("Maria");
+		dto.setLastName("Green");
+		dto.setEmail("maria@gmail.com");
+		dto.getRoles().add(new RoleDTO(1L, null));
+
+		UserDTO result = service.update(existingId, dto);
+
+		Assertions.assertEquals(1, result.getRoles().size());
+		Assertions.assertEquals("ROLE_OPERATOR", result.getRoles().iterator().next().getAuthority());
+		User user = userRepository.findWithRolesById(existingId).get();
+		Assertions.assertEquals(1, user.getRoles().size());
+	}
+
+	@Test
+	public void deleteShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
+
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+			service.delete(1000L);
+		});
+	}
+
+	@Test
+	public void deleteShouldLoadUserOnce() {
+
+		service.delete(existingId);
+
+		Assertions.assertEquals(countTotalUsers - 1, userRepository.count());
+		Assertions.assertEquals(1, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+	}
+
+}
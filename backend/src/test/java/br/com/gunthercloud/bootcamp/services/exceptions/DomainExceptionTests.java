@@ -0,0 +1,35 @@
+package br.com.gunthercloud.bootcamp.services.exceptions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DomainExceptionTests {
+
+	@AfterEach
+	void tearDown() {
+		DomainException.setStackTraces(false);
+	}
+
+	@Test
+	public void domainExceptionsShouldNotCaptureStackTraceByDefault() {
+
+		Assertions.assertEquals(0, new ResourceNotFoundException("Id 1 not found!").getStackTrace().length);
+		Assertions.assertEquals(0, new DatabaseException("Integrity violation").getStackTrace().length);
+		Assertions.assertEquals(0, new TooManyRequestsException("Too many", 1).getStackTrace().length);
+	}
+
+	@Test
+	public void stackTraceToggleShouldCaptureStackTrace() {
+
+		DomainException.setStackTraces(true);
+
+		Assertions.assertTrue(new ResourceNotFoundException("Id 1 not found!").getStackTrace().length > 0);
+	}
+
+	@Test
+	public void messageShouldBeKeptWithoutStackTrace() {
+
+		Assertions.assertEquals("Id 1 not found!", new ResourceNotFoundException("Id 1 not found!").getMessage());
+	}
+}